@@ -0,0 +1,49 @@
+package com.add.venture.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Límites de peticiones por ruta, definidos en application.properties:
+ *
+ * limite-peticiones.reglas[0].nombre=login
+ * limite-peticiones.reglas[0].metodo=POST
+ * limite-peticiones.reglas[0].ruta=/api/auth/login
+ * limite-peticiones.reglas[0].limite=10
+ * limite-peticiones.reglas[0].ventana-segundos=60
+ * limite-peticiones.reglas[0].por=ip
+ */
+@Component
+@ConfigurationProperties(prefix = "limite-peticiones")
+@Data
+public class LimitePeticionesProperties {
+
+    private boolean habilitado = true;
+
+    private List<Regla> reglas = new ArrayList<>();
+
+    @Data
+    public static class Regla {
+        // Identifica la regla (cada regla tiene sus propias cubetas)
+        private String nombre;
+
+        // Método HTTP (vacío = cualquiera)
+        private String metodo;
+
+        // Patrón de ruta, por ejemplo /api/chat/grupo/{idGrupo}/enviar
+        private String ruta;
+
+        // Peticiones permitidas por ventana (también es la ráfaga máxima)
+        private int limite;
+
+        private int ventanaSegundos = 60;
+
+        // "usuario" (si hay sesión, si no se usa la IP) o "ip"
+        private String por = "ip";
+    }
+}
@@ -1,6 +1,7 @@
 package com.add.venture.config;
 
 import com.add.venture.security.JwtAuthenticationFilter;
+import com.add.venture.security.PasswordEncoderAcotado;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,9 +33,18 @@ public class SecurityConfig {
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
 
+    // Hashes de contraseña en paralelo y solicitudes que pueden esperar turno
+    @Value("${seguridad.bcrypt.hilos:0}")
+    private int hilosBcrypt;
+
+    @Value("${seguridad.bcrypt.cola:32}")
+    private int colaBcrypt;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // BCrypt en un pool acotado: una ráfaga de logins no acapara los hilos de Tomcat
+        int hilos = hilosBcrypt > 0 ? hilosBcrypt : Runtime.getRuntime().availableProcessors();
+        return new PasswordEncoderAcotado(new BCryptPasswordEncoder(), hilos, colaBcrypt);
     }
 
     @Bean
@@ -52,7 +62,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "Retry-After",
+                "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -77,6 +88,8 @@ public class SecurityConfig {
                                 "/api/grupos/*/permisos",
                                 "/api/grupos/{id}",
                                 "/api/grupos/destinos-tendencia",
+                                "/api/grupos/destinos/sugerencias",
+                                "/api/grupos/tendencias/destinos",
                                 "/api/testimonios/destacados",
                                 "/api/testimonios/aprobados",
                                 "/api/support/**",
@@ -1,13 +1,27 @@
 package com.add.venture.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.add.venture.security.LimitePeticionesInterceptor;
+import com.add.venture.security.UsuarioActualArgumentResolver;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private UsuarioActualArgumentResolver usuarioActualArgumentResolver;
+
+    @Autowired
+    private LimitePeticionesInterceptor limitePeticionesInterceptor;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Esta línea le dice a Spring que cualquier URL /uploads/**
@@ -24,4 +38,16 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // Permite recibir el usuario autenticado con @UsuarioActual
+        resolvers.add(usuarioActualArgumentResolver);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Límites de peticiones por ruta (ver limite-peticiones.* en application.properties)
+        registry.addInterceptor(limitePeticionesInterceptor);
+    }
+}
@@ -2,12 +2,16 @@ package com.add.venture.controller;
 
 import com.add.venture.dto.AuthResponseDTO;
 import com.add.venture.dto.LoginRequestDTO;
+import com.add.venture.dto.RefreshTokenRequestDTO;
 import com.add.venture.dto.RegistroUsuarioDTO;
 import com.add.venture.dto.UserInfoDTO;
 import com.add.venture.model.Usuario;
 import com.add.venture.repository.UsuarioRepository;
 import com.add.venture.security.JwtService;
+import com.add.venture.security.ServicioSaturadoException;
+import com.add.venture.service.IRefreshTokenService;
 import com.add.venture.service.IUsuarioService;
+import com.add.venture.service.RefreshTokenEmitido;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +39,7 @@ public class AuthRestController {
     private final JwtService jwtService;
     private final IUsuarioService usuarioService;
     private final UsuarioRepository usuarioRepository;
+    private final IRefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
@@ -59,8 +65,9 @@ public class AuthRestController {
                     .body(Map.of("message", "Usuario no encontrado"));
             }
 
-            // Generar el token JWT
-            String token = jwtService.generateToken(userDetails);
+            // Generar el token JWT (de corta duración) y el refresh token para renovarlo sin contraseña
+            RefreshTokenEmitido refresh = refreshTokenService.emitir(usuario);
+            String token = jwtService.generateToken(userDetails, usuario.getIdUsuario(), refresh.getFamilia());
 
             // Crear el DTO de información del usuario
             UserInfoDTO userInfo = UserInfoDTO.builder()
@@ -78,6 +85,8 @@ public class AuthRestController {
             AuthResponseDTO response = AuthResponseDTO.builder()
                 .token(token)
                 .tipo("Bearer")
+                .refreshToken(refresh.getToken())
+                .expiraEn(jwtService.getJwtExpiration())
                 .usuario(userInfo)
                 .build();
 
@@ -87,6 +96,9 @@ public class AuthRestController {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Usuario o contraseña incorrectos");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        } catch (ServicioSaturadoException e) {
+            // La responde ManejadorServicioSaturado (429 con Retry-After)
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Error al iniciar sesión: " + e.getMessage());
@@ -107,8 +119,9 @@ public class AuthRestController {
             // Cargar UserDetails
             UserDetails userDetails = userDetailsService.loadUserByUsername(nuevoUsuario.getEmail());
 
-            // Generar token JWT
-            String token = jwtService.generateToken(userDetails);
+            // Generar token JWT y refresh token
+            RefreshTokenEmitido refresh = refreshTokenService.emitir(nuevoUsuario);
+            String token = jwtService.generateToken(userDetails, nuevoUsuario.getIdUsuario(), refresh.getFamilia());
 
             // Crear información del usuario
             UserInfoDTO userInfo = UserInfoDTO.builder()
@@ -126,11 +139,16 @@ public class AuthRestController {
             AuthResponseDTO response = AuthResponseDTO.builder()
                 .token(token)
                 .tipo("Bearer")
+                .refreshToken(refresh.getToken())
+                .expiraEn(jwtService.getJwtExpiration())
                 .usuario(userInfo)
                 .build();
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (ServicioSaturadoException e) {
+            // La responde ManejadorServicioSaturado (429 con Retry-After)
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Error al registrar usuario: " + e.getMessage());
@@ -138,6 +156,46 @@ public class AuthRestController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        try {
+            // Rota el refresh token y emite un access token nuevo (sin verificar la contraseña)
+            RefreshTokenEmitido refresh = refreshTokenService.rotar(request.getRefreshToken());
+            if (refresh == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Sesión expirada, inicia sesión nuevamente"));
+            }
+
+            Usuario usuario = refresh.getUsuario();
+            UserDetails userDetails = User.withUsername(usuario.getEmail())
+                .password("")
+                .authorities("ROLE_USER")
+                .build();
+            String token = jwtService.generateToken(userDetails, usuario.getIdUsuario(), refresh.getFamilia());
+
+            AuthResponseDTO response = AuthResponseDTO.builder()
+                .token(token)
+                .tipo("Bearer")
+                .refreshToken(refresh.getToken())
+                .expiraEn(jwtService.getJwtExpiration())
+                .build();
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error al renovar la sesión: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        // Revoca el refresh token y los access tokens de la sesión
+        refreshTokenService.revocar(request.getRefreshToken());
+        return ResponseEntity.ok(Map.of("message", "Sesión cerrada"));
+    }
+
     @GetMapping("/check-username")
     public ResponseEntity<Map<String, Boolean>> checkUsernameAvailability(@RequestParam String username) {
         boolean available = !usuarioRepository.existsByNombreUsuario(username);
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.add.venture.event.ActividadGrupoEvent;
 import com.add.venture.helper.UsuarioAutenticadoHelper;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.ParticipanteGrupo;
@@ -51,6 +53,9 @@ public class CalificacionController {
     @Autowired
     private ILogroService logroService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/grupo/{idGrupo}")
     public String mostrarCalificaciones(@PathVariable("idGrupo") Long idGrupo, Model model) {
         usuarioAutenticadoHelper.cargarDatosUsuarioParaNavbar(model);
@@ -223,6 +228,10 @@ public class CalificacionController {
 
                 resenaRepository.save(resena);
                 calificacionesGuardadas++;
+                if (grupo.getViaje() != null) {
+                    eventPublisher.publishEvent(ActividadGrupoEvent.resena(grupo.getIdGrupo(),
+                            grupo.getViaje().getDestinoPrincipal(), resena.getCalificacion()));
+                }
                 
                 // Verificar si el destinatario califica para el logro "Verificado"
                 logroService.verificarLogroVerificado(destinatario);
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.add.venture.event.ActividadGrupoEvent;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.ParticipanteGrupo;
 import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
@@ -51,6 +53,9 @@ public class CalificacionRestController {
     @Autowired
     private ILogroService logroService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/grupo/{idGrupo}")
     public ResponseEntity<?> obtenerParticipantesParaCalificar(@PathVariable Long idGrupo, Authentication auth) {
         try {
@@ -178,6 +183,10 @@ public class CalificacionRestController {
 
                 resenaRepository.save(resena);
                 calificacionesGuardadas++;
+                if (grupo.getViaje() != null) {
+                    eventPublisher.publishEvent(ActividadGrupoEvent.resena(grupo.getIdGrupo(),
+                            grupo.getViaje().getDestinoPrincipal(), resena.getCalificacion()));
+                }
                 
                 // Verificar si el destinatario califica para el logro "Verificado"
                 logroService.verificarLogroVerificado(destinatario);
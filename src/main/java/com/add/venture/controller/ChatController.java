@@ -10,6 +10,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
@@ -23,6 +24,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.add.venture.dto.MensajeChatDTO;
+import com.add.venture.event.GrupoViajeEvent;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.MensajeGrupo;
 import com.add.venture.model.ParticipanteGrupo;
@@ -32,6 +35,9 @@ import com.add.venture.repository.GrupoViajeRepository;
 import com.add.venture.repository.MensajeGrupoRepository;
 import com.add.venture.repository.ParticipanteGrupoRepository;
 import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.service.CanalMensajesChat;
+import com.add.venture.service.CapacidadesGrupo;
+import com.add.venture.service.HistorialChatService;
 import com.add.venture.service.IPermisosService;
 
 @Controller
@@ -56,6 +62,15 @@ public class ChatController {
     @Autowired
     private IPermisosService permisosService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private HistorialChatService historialChatService;
+
+    @Autowired
+    private CanalMensajesChat canalMensajesChat;
+
     private final String UPLOAD_DIR = "uploads/chat";
 
     @GetMapping("/grupo/{idGrupo}/mensajes")
@@ -79,13 +94,43 @@ public class ChatController {
                 return ResponseEntity.badRequest().body("No tienes acceso al chat de este grupo");
             }
 
-            List<MensajeGrupo> mensajes = mensajeGrupoRepository.findByGrupoOrderByFechaEnvioAsc(grupo);
+            // Solo los más recientes; el resto se pide con /historial
+            List<MensajeChatDTO> mensajes = historialChatService.obtenerRecientes(grupo);
             return ResponseEntity.ok(mensajes);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error al obtener mensajes: " + e.getMessage());
         }
     }
 
+    @GetMapping("/grupo/{idGrupo}/historial")
+    @ResponseBody
+    public ResponseEntity<?> obtenerHistorial(
+            @PathVariable("idGrupo") Long idGrupo,
+            @RequestParam(value = "antes", required = false) String antes,
+            @RequestParam(value = "limite", required = false) Integer limite) {
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth == null || !auth.isAuthenticated() || auth.getName().equals("anonymousUser")) {
+                return ResponseEntity.badRequest().body("Usuario no autenticado");
+            }
+
+            String email = auth.getName();
+            Usuario usuario = usuarioRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+
+            GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
+                    .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
+
+            if (!permisosService.usuarioTienePermiso(usuario, grupo, "ACCEDER_CHAT")) {
+                return ResponseEntity.badRequest().body("No tienes acceso al chat de este grupo");
+            }
+
+            return ResponseEntity.ok(historialChatService.obtenerPagina(grupo, antes, limite));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error al obtener mensajes: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/grupo/{idGrupo}/enviar")
     @ResponseBody
     public ResponseEntity<?> enviarMensaje(
@@ -127,12 +172,10 @@ public class ChatController {
                     .estado("activo")
                     .build();
 
-            mensajeGrupoRepository.save(nuevoMensaje);
-            
-            // Enviar mensaje por WebSocket a todos los participantes del grupo
-            messagingTemplate.convertAndSend("/topic/grupo/" + idGrupo, nuevoMensaje);
+            // Guardar, agregar al historial y enviar por WebSocket a todos los suscritos al grupo
+            MensajeChatDTO mensajeDTO = canalMensajesChat.publicar(nuevoMensaje);
             
-            return ResponseEntity.ok(nuevoMensaje);
+            return ResponseEntity.ok(mensajeDTO);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error al enviar mensaje: " + e.getMessage());
         }
@@ -243,16 +286,12 @@ public class ChatController {
                     .build();
 
             System.out.println("Guardando mensaje en base de datos...");
-            mensajeGrupoRepository.save(nuevoMensaje);
-            System.out.println("Mensaje guardado con ID: " + nuevoMensaje.getIdMensaje());
-            
-            // Enviar mensaje por WebSocket a todos los participantes del grupo
-            System.out.println("Enviando por WebSocket...");
-            messagingTemplate.convertAndSend("/topic/grupo/" + idGrupo, nuevoMensaje);
+            // Guardar, agregar al historial y enviar por WebSocket a todos los suscritos al grupo
+            MensajeChatDTO mensajeDTO = canalMensajesChat.publicar(nuevoMensaje);
             System.out.println("Mensaje enviado por WebSocket exitosamente");
             
             System.out.println("=== FIN ENVIAR IMAGEN EXITOSO ===");
-            return ResponseEntity.ok(nuevoMensaje);
+            return ResponseEntity.ok(mensajeDTO);
         } catch (IOException e) {
             System.out.println("ERROR IOException: " + e.getMessage());
             e.printStackTrace();
@@ -288,6 +327,7 @@ public class ChatController {
             // Cambiar estado del grupo
             grupo.setEstado("cerrado");
             grupoViajeRepository.save(grupo);
+            eventPublisher.publishEvent(GrupoViajeEvent.de(GrupoViajeEvent.Tipo.CERRADO, grupo));
 
             // Los mensajes se mantienen automáticamente para historial
             return ResponseEntity.ok("Chat cerrado exitosamente. Los mensajes se han guardado en el historial.");
@@ -320,6 +360,9 @@ public class ChatController {
                 return ResponseEntity.badRequest().body("No tienes acceso al chat de este grupo");
             }
 
+            // Con escritura diferida el mensaje puede no estar guardado todavía
+            canalMensajesChat.esperarEscrituras();
+
             // Buscar el mensaje
             Optional<MensajeGrupo> mensajeOpt = mensajeGrupoRepository.findById(idMensaje);
             if (mensajeOpt.isEmpty()) {
@@ -351,6 +394,7 @@ public class ChatController {
 
             // Eliminar mensaje de la base de datos
             mensajeGrupoRepository.delete(mensaje);
+            historialChatService.registrarEliminado(idGrupo, idMensaje);
             
             // Notificar por WebSocket que el mensaje fue eliminado
             messagingTemplate.convertAndSend("/topic/grupo/" + idGrupo + "/delete", idMensaje);
@@ -383,7 +427,8 @@ public class ChatController {
             debug.append("Usuario: ").append(usuario.getEmail()).append(" (ID: ").append(usuario.getIdUsuario()).append(")\n");
             debug.append("Grupo: ").append(grupo.getNombreViaje()).append(" (ID: ").append(grupo.getIdGrupo()).append(")\n");
             debug.append("Creador del grupo: ").append(grupo.getCreador().getEmail()).append(" (ID: ").append(grupo.getCreador().getIdUsuario()).append(")\n");
-            debug.append("¿Es creador? ").append(permisosService.esCreadorDelGrupo(usuario, grupo)).append("\n");
+            CapacidadesGrupo capacidades = permisosService.obtenerCapacidades(usuario, grupo);
+            debug.append("¿Es creador? ").append(capacidades.isCreador()).append("\n");
             
             // Verificar rol en UsuarioRolGrupo
             var rol = permisosService.obtenerRolEnGrupo(usuario, grupo);
@@ -393,7 +438,7 @@ public class ChatController {
             String[] permisosAVerificar = {"ACCEDER_CHAT", "ENVIAR_MENSAJES", "COMPARTIR_ARCHIVOS", "EDITAR_GRUPO"};
             debug.append("\nPermisos:\n");
             for (String permiso : permisosAVerificar) {
-                boolean tiene = permisosService.usuarioTienePermiso(usuario, grupo, permiso);
+                boolean tiene = capacidades.tiene(permiso);
                 debug.append("- ").append(permiso).append(": ").append(tiene ? "✅ SÍ" : "❌ NO").append("\n");
             }
             
@@ -478,17 +523,18 @@ public class ChatController {
             
             // Test 1: ¿Es creador?
             resultado.append("\n--- TEST 1: ¿Es creador? ---\n");
-            boolean esCreador = permisosService.esCreadorDelGrupo(usuario, grupo);
+            CapacidadesGrupo capacidades = permisosService.obtenerCapacidades(usuario, grupo);
+            boolean esCreador = capacidades.isCreador();
             resultado.append("Resultado: ").append(esCreador).append("\n");
             
             // Test 2: ¿Puede acceder al chat?
             resultado.append("\n--- TEST 2: ¿Puede acceder al chat? ---\n");
-            boolean puedeAcceder = permisosService.usuarioTienePermiso(usuario, grupo, "ACCEDER_CHAT");
+            boolean puedeAcceder = capacidades.tiene("ACCEDER_CHAT");
             resultado.append("Resultado: ").append(puedeAcceder).append("\n");
             
             // Test 3: ¿Puede enviar mensajes?
             resultado.append("\n--- TEST 3: ¿Puede enviar mensajes? ---\n");
-            boolean puedeEnviar = permisosService.usuarioTienePermiso(usuario, grupo, "ENVIAR_MENSAJES");
+            boolean puedeEnviar = capacidades.tiene("ENVIAR_MENSAJES");
             resultado.append("Resultado: ").append(puedeEnviar).append("\n");
 
             resultado.append("\n=== RESUMEN ===\n");
@@ -12,7 +12,6 @@ import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,12 +22,15 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.add.venture.dto.ActionResponse;
+import com.add.venture.dto.MensajeChatDTO;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.MensajeGrupo;
 import com.add.venture.model.Usuario;
 import com.add.venture.repository.GrupoViajeRepository;
 import com.add.venture.repository.MensajeGrupoRepository;
-import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.security.UsuarioActual;
+import com.add.venture.service.CanalMensajesChat;
+import com.add.venture.service.HistorialChatService;
 import com.add.venture.service.IPermisosService;
 
 @RestController
@@ -41,31 +43,30 @@ public class ChatRestController {
     @Autowired
     private GrupoViajeRepository grupoViajeRepository;
     
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-    
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
     private IPermisosService permisosService;
 
+    @Autowired
+    private HistorialChatService historialChatService;
+
+    @Autowired
+    private CanalMensajesChat canalMensajesChat;
+
     private final String UPLOAD_DIR = "uploads/chat";
 
     @GetMapping("/{idGrupo}/mensajes")
-    public ResponseEntity<?> obtenerMensajes(@PathVariable Long idGrupo, Authentication authentication) {
+    public ResponseEntity<?> obtenerMensajes(@PathVariable Long idGrupo, @UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
                     .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
 
@@ -77,8 +78,8 @@ public class ChatRestController {
                         .build());
             }
 
-            List<MensajeGrupo> mensajes = mensajeGrupoRepository
-                    .findByGrupoOrderByFechaEnvioAsc(grupo);
+            // Solo los más recientes; el resto se pide con /historial
+            List<MensajeChatDTO> mensajes = historialChatService.obtenerRecientes(grupo);
 
             return ResponseEntity.ok(mensajes);
 
@@ -89,24 +90,61 @@ public class ChatRestController {
         }
     }
 
+    /**
+     * Historial del chat por páginas: sin "antes" devuelve los mensajes más recientes;
+     * con el "siguienteCursor" de una respuesta devuelve los anteriores
+     */
+    @GetMapping("/{idGrupo}/historial")
+    public ResponseEntity<?> obtenerHistorial(
+            @PathVariable Long idGrupo,
+            @RequestParam(required = false) String antes,
+            @RequestParam(required = false) Integer limite,
+            @UsuarioActual Usuario usuario) {
+        try {
+            if (usuario == null) {
+                return ResponseEntity.status(401).body(ActionResponse.builder()
+                        .success(false)
+                        .error("Debes iniciar sesión")
+                        .build());
+            }
+
+            GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
+                    .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
+
+            if (!permisosService.usuarioTienePermiso(usuario, grupo, "ACCEDER_CHAT")) {
+                return ResponseEntity.status(403).body(ActionResponse.builder()
+                        .success(false)
+                        .error("No tienes permiso para acceder al chat de este grupo")
+                        .build());
+            }
+
+            return ResponseEntity.ok(historialChatService.obtenerPagina(grupo, antes, limite));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ActionResponse.builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Error al cargar mensajes: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
     @PostMapping("/{idGrupo}/enviar")
     public ResponseEntity<?> enviarMensaje(
             @PathVariable Long idGrupo,
             @RequestParam String mensaje,
-            Authentication authentication) {
+            @UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            // Buscar usuario y grupo
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-            
             GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
                     .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
 
@@ -126,13 +164,10 @@ public class ChatRestController {
             nuevoMensaje.setTipoMensaje("texto");
             nuevoMensaje.setFechaEnvio(LocalDateTime.now());
 
-            // Guardar en base de datos
-            nuevoMensaje = mensajeGrupoRepository.save(nuevoMensaje);
-
-            // Enviar por WebSocket a todos los suscritos al grupo
-            messagingTemplate.convertAndSend("/topic/grupo/" + idGrupo, nuevoMensaje);
+            // Guardar, agregar al historial y enviar por WebSocket a todos los suscritos al grupo
+            MensajeChatDTO mensajeDTO = canalMensajesChat.publicar(nuevoMensaje);
 
-            return ResponseEntity.ok(nuevoMensaje);
+            return ResponseEntity.ok(mensajeDTO);
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(ActionResponse.builder()
@@ -147,19 +182,15 @@ public class ChatRestController {
             @PathVariable Long idGrupo,
             @RequestParam("imagen") MultipartFile imagen,
             @RequestParam(required = false) String descripcion,
-            Authentication authentication) {
+            @UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
                     .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
 
@@ -241,12 +272,10 @@ public class ChatRestController {
                     .estado("activo")
                     .build();
 
-            mensajeGrupoRepository.save(nuevoMensaje);
-            
-            // Enviar por WebSocket
-            messagingTemplate.convertAndSend("/topic/grupo/" + idGrupo, nuevoMensaje);
+            // Guardar, agregar al historial y enviar por WebSocket a todos los suscritos al grupo
+            MensajeChatDTO mensajeDTO = canalMensajesChat.publicar(nuevoMensaje);
 
-            return ResponseEntity.ok(nuevoMensaje);
+            return ResponseEntity.ok(mensajeDTO);
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(ActionResponse.builder()
@@ -260,18 +289,17 @@ public class ChatRestController {
     public ResponseEntity<?> eliminarMensaje(
             @PathVariable Long idGrupo,
             @PathVariable Long idMensaje,
-            Authentication authentication) {
+            @UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            // Con escritura diferida el mensaje puede no estar guardado todavía
+            canalMensajesChat.esperarEscrituras();
 
             MensajeGrupo mensaje = mensajeGrupoRepository.findById(idMensaje)
                     .orElseThrow(() -> new RuntimeException("Mensaje no encontrado"));
@@ -299,6 +327,7 @@ public class ChatRestController {
 
             // Eliminar el mensaje
             mensajeGrupoRepository.delete(mensaje);
+            historialChatService.registrarEliminado(idGrupo, idMensaje);
 
             // Notificar por WebSocket la eliminación del mensaje
             Map<String, Object> deleteNotification = new HashMap<>();
@@ -8,7 +8,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -20,8 +19,8 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -49,6 +48,10 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.add.venture.dto.CrearGrupoViajeDTO;
 import com.add.venture.dto.DiaItinerarioDTO;
+import com.add.venture.dto.FiltroBusquedaGruposDTO;
+import com.add.venture.event.ActividadGrupoEvent;
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.helper.GrupoViajeResponseAssembler;
 import com.add.venture.helper.UsuarioAutenticadoHelper;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.Itinerario;
@@ -66,10 +69,13 @@ import com.add.venture.repository.UsuarioRepository;
 import com.add.venture.repository.UsuarioRolGrupoRepository;
 import com.add.venture.repository.ViajeRepository;
 import com.add.venture.repository.ItinerarioRepository;
+import com.add.venture.service.CanalMensajesChat;
 import com.add.venture.service.IBuscarGrupoService;
 import com.add.venture.service.IGrupoViajeService;
 import com.add.venture.service.INotificacionService;
+import com.add.venture.service.IParticipacionService;
 import com.add.venture.service.IPermisosService;
+import com.add.venture.util.CursorGrupos;
 
 import jakarta.validation.Valid;
 
@@ -77,6 +83,9 @@ import jakarta.validation.Valid;
 @RequestMapping("/grupos")
 public class GrupoViajeController {
 
+    // Máximo de grupos por página (en modo página y en modo cursor), igual que en la API
+    private static final int MAX_TAMANO_PAGINA = 50;
+
     @Autowired
     private UsuarioAutenticadoHelper usuarioAutenticadoHelper;
 
@@ -92,6 +101,9 @@ public class GrupoViajeController {
     @Autowired
     private MensajeGrupoRepository mensajeGrupoRepository;
 
+    @Autowired
+    private CanalMensajesChat canalMensajesChat;
+
     @Autowired
     private IGrupoViajeService grupoViajeService;
 
@@ -116,6 +128,15 @@ public class GrupoViajeController {
     @Autowired
     private IBuscarGrupoService iBuscarGrupoService;
 
+    @Autowired
+    private IParticipacionService participacionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private GrupoViajeResponseAssembler grupoViajeResponseAssembler;
+
     @GetMapping
     public String mostrarGrupos(
             @RequestParam(required = false) String destinoPrincipal,
@@ -124,12 +145,21 @@ public class GrupoViajeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "6") int size,
             @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
             Model model) {
 
         // Cargar datos del usuario
         usuarioAutenticadoHelper.cargarDatosUsuarioParaNavbar(model);
         usuarioAutenticadoHelper.cargarUsuarioParaPerfil(model);
 
+        // Validación de la paginación (el tamaño se limita antes de consultar)
+        if (size < 1 || page < 0) {
+            model.addAttribute("error", "Paginación inválida");
+            model.addAttribute("grupos", List.of());
+            return "grupos/buscar";
+        }
+        size = Math.min(size, MAX_TAMANO_PAGINA);
+
         // Validación de campos
         if (destinoPrincipal != null && !destinoPrincipal.isBlank() && !destinoPrincipal.matches("^[A-Za-zÁÉÍÓÚáéíóúÑñ\\s]+$")) {
             model.addAttribute("error", "Se deben ingresar letras");
@@ -163,6 +193,11 @@ public class GrupoViajeController {
             pageable = PageRequest.of(page, size);
         }
 
+        // Modo cursor ("Ver más"): sin OFFSET ni conteo
+        if (cursor != null) {
+            return mostrarGruposPorCursor(destinoPrincipal, fechaInicio, fechaFin, size, sort, cursor, model);
+        }
+
         // Obtener grupos filtrados por destino/fechas (si los hay)
         Page<GrupoViaje> paginaFiltrada;
         if ((destinoPrincipal == null || destinoPrincipal.isBlank()) && fechaInicio == null && fechaFin == null) {
@@ -171,26 +206,13 @@ public class GrupoViajeController {
             paginaFiltrada = iBuscarGrupoService.buscarGrupos(destinoPrincipal, fechaInicio, fechaFin, pageable);
         }
 
-        //Filtrar grupos con cupo
-        List<GrupoViaje> gruposConCupo = paginaFiltrada.getContent().stream()
-                .filter(grupo -> {
-                    long aceptados = participanteGrupoRepository.countByGrupoAndEstadoSolicitud(grupo,
-                            EstadoSolicitud.ACEPTADO);
-                    return (aceptados + 1) < grupo.getMaxParticipantes();
-                })
-                .peek(grupo -> {
-                    List<ParticipanteGrupo> aceptados = participanteGrupoRepository.findByGrupoAndEstadoSolicitud(grupo,
-                            EstadoSolicitud.ACEPTADO);
-                    grupo.setParticipantes(new HashSet<>(aceptados));
-                })
-                .toList();
-        
-        // Crear una Page "manual"
-        Page<GrupoViaje> paginaConCupo = new PageImpl<>(gruposConCupo, pageable, paginaFiltrada.getTotalElements());
+        // Las consultas ya excluyen los grupos sin cupo; cargar los participantes aceptados
+        // de toda la página en una sola consulta
+        grupoViajeResponseAssembler.cargarParticipantesAceptados(paginaFiltrada.getContent());
 
         // Agregar al modelo
-        model.addAttribute("grupos", paginaConCupo.getContent());
-        model.addAttribute("totalPages", paginaConCupo.getTotalPages());
+        model.addAttribute("grupos", paginaFiltrada.getContent());
+        model.addAttribute("totalPages", paginaFiltrada.getTotalPages());
         model.addAttribute("currentPage", page);
         model.addAttribute("size", size);
         model.addAttribute("sort", sort);
@@ -198,6 +220,44 @@ public class GrupoViajeController {
         return "grupos/buscar";
     }
 
+    private String mostrarGruposPorCursor(String destinoPrincipal, LocalDate fechaInicio, LocalDate fechaFin,
+            int size, String sort, String cursor, Model model) {
+
+        CursorGrupos.Orden orden = CursorGrupos.Orden.desdeParametro(sort);
+        CursorGrupos posicion;
+        try {
+            posicion = CursorGrupos.decodificar(cursor, orden);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", "Cursor inválido");
+            model.addAttribute("grupos", List.of());
+            return "grupos/buscar";
+        }
+
+        FiltroBusquedaGruposDTO filtro = FiltroBusquedaGruposDTO.builder()
+                .destino(destinoPrincipal)
+                .fechaInicio(fechaInicio)
+                .fechaFin(fechaFin)
+                .build();
+
+        // Se pide un grupo de más para saber si hay otra tanda
+        List<GrupoViaje> grupos = iBuscarGrupoService.buscarGruposDespuesDe(filtro, orden, posicion, size + 1);
+        boolean hayMas = grupos.size() > size;
+        if (hayMas) {
+            grupos = grupos.subList(0, size);
+        }
+
+        grupoViajeResponseAssembler.cargarParticipantesAceptados(grupos);
+
+        model.addAttribute("grupos", grupos);
+        model.addAttribute("totalPages", 0);
+        model.addAttribute("size", size);
+        model.addAttribute("sort", sort);
+        model.addAttribute("siguienteCursor",
+                hayMas ? CursorGrupos.codificar(orden, grupos.get(grupos.size() - 1)) : null);
+
+        return "grupos/buscar";
+    }
+
     /*@GetMapping
     public String listarGrupos(
             @RequestParam(required = false) String destino,
@@ -285,8 +345,8 @@ public class GrupoViajeController {
             model.addAttribute("estadoSolicitud", "NINGUNA");
         }
         
-        // Contar solo participantes aceptados (sin incluir al creador ya que se cuenta aparte)
-        long participantesAceptados = participanteGrupoRepository.countByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.ACEPTADO);
+        // Participantes aceptados (sin incluir al creador ya que se cuenta aparte)
+        long participantesAceptados = grupo.getParticipantesAceptados();
         model.addAttribute("participantesAceptados", participantesAceptados);
         
         // Total de miembros = participantes aceptados + creador
@@ -337,8 +397,7 @@ public class GrupoViajeController {
             }
 
             // Verificar capacidad del grupo (sin contar al creador)
-            List<ParticipanteGrupo> participantesAceptados = participanteGrupoRepository.findByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.ACEPTADO);
-            if (participantesAceptados.size() >= grupo.getMaxParticipantes() - 1) {
+            if (grupo.getParticipantesAceptados() >= grupo.getMaxParticipantes() - 1) {
                 response.put("success", false);
                 response.put("error", "El grupo ha alcanzado su capacidad máxima");
                 return ResponseEntity.badRequest().body(response);
@@ -374,6 +433,7 @@ public class GrupoViajeController {
                     participante.setFechaUnion(LocalDateTime.now());
                     participante.setIntentosSolicitud(intentos + 1);
                     participanteGrupoRepository.save(participante);
+                    eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.SOLICITUD, grupo.getIdGrupo()));
                     
                     // Crear notificación para el líder del grupo
                     notificacionService.crearNotificacionSolicitudUnion(usuario, grupo.getCreador(), 
@@ -395,6 +455,7 @@ public class GrupoViajeController {
                     .build();
 
             participanteGrupoRepository.save(solicitud);
+            eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.SOLICITUD, grupo.getIdGrupo()));
 
             // Crear notificación para el líder del grupo
             notificacionService.crearNotificacionSolicitudUnion(usuario, grupo.getCreador(), 
@@ -441,8 +502,8 @@ public class GrupoViajeController {
             return "redirect:/grupos/" + idGrupo;
         }
 
-        // Eliminar participante
-        participanteGrupoRepository.delete(participanteOpt.get());
+        // Eliminar participante y liberar la plaza
+        participacionService.retirarParticipante(participanteOpt.get());
         
         // IMPORTANTE: Remover rol en el nuevo sistema de permisos
         try {
@@ -650,8 +711,8 @@ public class GrupoViajeController {
             return "redirect:/grupos/" + idGrupo;
         }
 
-        // Eliminar participante
-        participanteGrupoRepository.delete(participanteOpt.get());
+        // Eliminar participante y liberar la plaza
+        participacionService.retirarParticipante(participanteOpt.get());
 
         // Aquí se podría enviar una notificación al usuario expulsado
 
@@ -692,7 +753,7 @@ public class GrupoViajeController {
         mensaje.setGrupo(grupo);
         mensaje.setRemitente(usuario);
 
-        mensajeGrupoRepository.save(mensaje);
+        canalMensajesChat.publicar(mensaje);
 
         return "{\"success\": true}";
     }
@@ -746,7 +807,7 @@ public class GrupoViajeController {
                             .estadoSolicitud(EstadoSolicitud.ACEPTADO)
                             .fechaUnion(LocalDateTime.now())
                             .build();
-                    participanteGrupoRepository.save(participanteCreador);
+                    participacionService.registrarParticipanteAceptado(participanteCreador);
                 } else {
                     redirectAttributes.addFlashAttribute("error", "El usuario no es participante de este grupo");
                     return "redirect:/grupos/" + idGrupo;
@@ -1155,7 +1216,9 @@ public class GrupoViajeController {
         }
         
         // 5. Eliminar el grupo (las otras relaciones se eliminan por cascade)
+        GrupoViajeEvent evento = GrupoViajeEvent.de(GrupoViajeEvent.Tipo.ELIMINADO, grupo);
         grupoViajeRepository.delete(grupo);
+        eventPublisher.publishEvent(evento);
     }
 
 }
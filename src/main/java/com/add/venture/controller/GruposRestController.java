@@ -8,11 +8,16 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,12 +26,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -35,7 +42,13 @@ import java.util.UUID;
 
 import com.add.venture.dto.ActionResponse;
 import com.add.venture.dto.CrearGrupoViajeDTO;
+import com.add.venture.dto.DestinoTendenciaDTO;
+import com.add.venture.dto.FiltroBusquedaGruposDTO;
 import com.add.venture.dto.GrupoViajeResponseDTO;
+import com.add.venture.dto.SugerenciaDestinoDTO;
+import com.add.venture.event.ActividadGrupoEvent;
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.helper.GrupoViajeResponseAssembler;
 import com.add.venture.model.Rol;
 
 import jakarta.validation.Valid;
@@ -51,14 +64,23 @@ import com.add.venture.repository.ParticipanteGrupoRepository;
 import com.add.venture.repository.RolRepository;
 import com.add.venture.repository.UsuarioRepository;
 import com.add.venture.repository.UsuarioRolGrupoRepository;
+import com.add.venture.service.CapacidadesGrupo;
 import com.add.venture.service.IBuscarGrupoService;
 import com.add.venture.service.INotificacionService;
+import com.add.venture.service.IParticipacionService;
 import com.add.venture.service.IPermisosService;
+import com.add.venture.service.FeedTendenciasService;
+import com.add.venture.service.SugerenciasDestinoService;
+import com.add.venture.service.TendenciasService;
+import com.add.venture.util.CursorGrupos;
 
 @RestController
 @RequestMapping("/api/grupos")
 public class GruposRestController {
 
+    // Máximo de grupos por página (en modo página y en modo cursor)
+    private static final int MAX_TAMANO_PAGINA = 50;
+
     @Autowired
     private IBuscarGrupoService iBuscarGrupoService;
 
@@ -89,6 +111,24 @@ public class GruposRestController {
     @Autowired
     private com.add.venture.service.IGrupoViajeService grupoViajeService;
 
+    @Autowired
+    private GrupoViajeResponseAssembler grupoViajeResponseAssembler;
+
+    @Autowired
+    private IParticipacionService participacionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SugerenciasDestinoService sugerenciasDestinoService;
+
+    @Autowired
+    private FeedTendenciasService feedTendenciasService;
+
+    @Autowired
+    private TendenciasService tendenciasService;
+
     /**
      * Buscar grupos con filtros
      */
@@ -97,11 +137,28 @@ public class GruposRestController {
             @RequestParam(required = false) String destinoPrincipal,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            @RequestParam(required = false) List<String> etiquetas,
+            @RequestParam(required = false) Integer edadMin,
+            @RequestParam(required = false) Integer edadMax,
+            @RequestParam(required = false) Boolean verificado,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "6") int size,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean incluirTotal) {
 
         try {
+            // Validación de la paginación (el tamaño se limita antes de consultar)
+            if (size < 1 || page < 0) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Paginación inválida");
+                errorResponse.put("grupos", List.of());
+                errorResponse.put("totalPages", 0);
+                errorResponse.put("currentPage", page);
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+            size = Math.min(size, MAX_TAMANO_PAGINA);
+
             // Validación de destino principal
             if (destinoPrincipal != null && !destinoPrincipal.isBlank() 
                     && !destinoPrincipal.matches("^[A-Za-zÁÉÍÓÚáéíóúÑñ\\s]+$")) {
@@ -137,24 +194,36 @@ public class GruposRestController {
                 pageable = PageRequest.of(page, size);
             }
 
-            // Obtener grupos filtrados
-            Page<GrupoViaje> paginaFiltrada;
-            if ((destinoPrincipal == null || destinoPrincipal.isBlank()) 
-                    && fechaInicio == null && fechaFin == null) {
-                paginaFiltrada = iBuscarGrupoService.obtenerGrupos(pageable);
-            } else {
-                paginaFiltrada = iBuscarGrupoService.buscarGrupos(destinoPrincipal, fechaInicio, fechaFin, pageable);
+            // Obtener grupos filtrados (solo se aplican los filtros informados)
+            FiltroBusquedaGruposDTO filtro = FiltroBusquedaGruposDTO.builder()
+                    .destino(destinoPrincipal)
+                    .fechaInicio(fechaInicio)
+                    .fechaFin(fechaFin)
+                    .etiquetas(etiquetas)
+                    .edadMin(edadMin)
+                    .edadMax(edadMax)
+                    .verificado(verificado)
+                    .build();
+
+            // Modo cursor: se activa con el parámetro "cursor" (vacío para la primera tanda)
+            if (cursor != null) {
+                CursorGrupos.Orden orden = CursorGrupos.Orden.desdeParametro(sort);
+                CursorGrupos posicion;
+                try {
+                    posicion = CursorGrupos.decodificar(cursor, orden);
+                } catch (IllegalArgumentException e) {
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("error", "Cursor inválido");
+                    errorResponse.put("grupos", List.of());
+                    return ResponseEntity.badRequest().body(errorResponse);
+                }
+                return ResponseEntity.ok(buscarGruposPorCursor(filtro, orden, posicion, size, incluirTotal));
             }
 
-            // Filtrar grupos con cupo disponible y convertir a DTO
-            List<GrupoViajeResponseDTO> gruposDTO = paginaFiltrada.getContent().stream()
-                    .filter(grupo -> {
-                        long aceptados = participanteGrupoRepository.countByGrupoAndEstadoSolicitud(grupo,
-                                EstadoSolicitud.ACEPTADO);
-                        return (aceptados + 1) < grupo.getMaxParticipantes();
-                    })
-                    .map(this::convertirADTO)
-                    .collect(Collectors.toList());
+            Page<GrupoViaje> paginaFiltrada = iBuscarGrupoService.buscarGrupos(filtro, pageable);
+
+            // Las consultas ya excluyen los grupos sin cupo; convertir a DTO en bloque
+            List<GrupoViajeResponseDTO> gruposDTO = grupoViajeResponseAssembler.convertir(paginaFiltrada.getContent());
 
             // Construir respuesta
             Map<String, Object> response = new HashMap<>();
@@ -174,6 +243,41 @@ public class GruposRestController {
         }
     }
 
+    /**
+     * Búsqueda por cursor: sin OFFSET y sin conteo (salvo que se pida el total).
+     * Se pide un grupo de más para saber si hay otra tanda.
+     */
+    private Map<String, Object> buscarGruposPorCursor(FiltroBusquedaGruposDTO filtro, CursorGrupos.Orden orden,
+            CursorGrupos posicion, int size, boolean incluirTotal) {
+
+        List<GrupoViaje> grupos = iBuscarGrupoService.buscarGruposDespuesDe(filtro, orden, posicion, size + 1);
+        boolean hayMas = grupos.size() > size;
+        if (hayMas) {
+            grupos = grupos.subList(0, size);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("grupos", grupoViajeResponseAssembler.convertir(grupos));
+        response.put("siguienteCursor", hayMas ? CursorGrupos.codificar(orden, grupos.get(grupos.size() - 1)) : null);
+        response.put("hayMas", hayMas);
+        response.put("size", size);
+        if (incluirTotal) {
+            response.put("totalElements", iBuscarGrupoService.contarGrupos(filtro));
+        }
+        return response;
+    }
+
+    /**
+     * Sugerencias de destinos y etiquetas para el buscador (autocompletado)
+     */
+    @GetMapping("/destinos/sugerencias")
+    public ResponseEntity<List<SugerenciaDestinoDTO>> sugerirDestinos(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "8") int limite) {
+        int limiteValido = Math.max(1, Math.min(limite, SugerenciasDestinoService.MAX_SUGERENCIAS));
+        return ResponseEntity.ok(sugerenciasDestinoService.sugerir(q, limiteValido));
+    }
+
     @GetMapping("/{id}/solicitudes-pendientes")
     public ResponseEntity<?> obtenerSolicitudesPendientes(@PathVariable("id") Long idGrupo, Authentication authentication) {
         try {
@@ -225,76 +329,15 @@ public class GruposRestController {
         }
     }
 
-    private GrupoViajeResponseDTO convertirADTO(GrupoViaje grupo) {
-        // Obtener participantes aceptados
-        List<ParticipanteGrupo> participantesAceptados = participanteGrupoRepository
-                .findByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.ACEPTADO);
-
-        // Convertir participantes a DTO
-        List<GrupoViajeResponseDTO.ParticipanteInfo> participantesDTO = participantesAceptados.stream()
-                .map(p -> GrupoViajeResponseDTO.ParticipanteInfo.builder()
-                        .idUsuario(p.getUsuario().getIdUsuario())
-                        .nombreCompleto(p.getUsuario().getNombre() + " " + p.getUsuario().getApellidos())
-                        .fotoPerfil(p.getUsuario().getFotoPerfil())
-                        .iniciales(p.getUsuario().getIniciales())
-                        .build())
-                .collect(Collectors.toList());
-
-        // Construir información del viaje
-        GrupoViajeResponseDTO.ViajeInfo viajeInfo = null;
-        if (grupo.getViaje() != null) {
-            viajeInfo = GrupoViajeResponseDTO.ViajeInfo.builder()
-                    .idViaje(grupo.getViaje().getIdViaje())
-                    .destinoPrincipal(grupo.getViaje().getDestinoPrincipal())
-                    .fechaInicio(grupo.getViaje().getFechaInicio())
-                    .fechaFin(grupo.getViaje().getFechaFin())
-                    .descripcion(grupo.getViaje().getDescripcion())
-                    .puntoEncuentro(grupo.getViaje().getPuntoEncuentro())
-                    .rangoEdadMin(grupo.getViaje().getRangoEdadMin())
-                    .rangoEdadMax(grupo.getViaje().getRangoEdadMax())
-                    .esVerificado(grupo.getViaje().getEsVerificado())
-                    .imagenDestacada(grupo.getViaje().getImagenDestacada())
-                    .build();
-        }
-
-        // Construir información del creador
-        GrupoViajeResponseDTO.CreadorInfo creadorInfo = GrupoViajeResponseDTO.CreadorInfo.builder()
-                .idUsuario(grupo.getCreador().getIdUsuario())
-                .nombreCompleto(grupo.getCreador().getNombre() + " " + grupo.getCreador().getApellidos())
-                .fotoPerfil(grupo.getCreador().getFotoPerfil())
-                .iniciales(grupo.getCreador().getIniciales())
-                .build();
-
-        // Convertir etiquetas a lista de strings
-        List<String> etiquetas = grupo.getEtiquetas() != null
-                ? grupo.getEtiquetas().stream()
-                        .map(e -> e.getNombreEtiqueta())
-                        .collect(Collectors.toList())
-                : List.of();
-
-        // Construir DTO del grupo
-        return GrupoViajeResponseDTO.builder()
-                .idGrupo(grupo.getIdGrupo())
-                .nombreViaje(grupo.getNombreViaje())
-                .maxParticipantes(grupo.getMaxParticipantes())
-                .estado(grupo.getEstado())
-                .viaje(viajeInfo)
-                .creador(creadorInfo)
-                .participantes(participantesDTO)
-                .totalParticipantes(participantesDTO.size() + 1) // +1 por el creador
-                .etiquetas(etiquetas)
-                .build();
-    }
-
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> obtenerDetalleGrupo(@PathVariable("id") Long idGrupo) {
         try {
-            // Buscar el grupo
-            GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
+            // Buscar el grupo con viaje, creador, etiquetas y participantes en una consulta
+            GrupoViaje grupo = grupoViajeRepository.findConDetalleByIdGrupo(idGrupo)
                     .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
 
             // Convertir a DTO básico
-            GrupoViajeResponseDTO grupoDTO = convertirADTO(grupo);
+            GrupoViajeResponseDTO grupoDTO = grupoViajeResponseAssembler.convertir(grupo);
 
             // Obtener itinerarios ordenados
             List<Itinerario> itinerarios = itinerarioRepository.findByGrupoOrderByDiaNumeroAsc(grupo);
@@ -340,6 +383,7 @@ public class GruposRestController {
                 permisos.put("puedeCalificar", false);
                 permisos.put("puedeVerGaleria", false);
                 permisos.put("puedeAccederChat", false);
+                permisos.put("permisos", List.of());
                 return ResponseEntity.ok(permisos);
             }
             
@@ -351,8 +395,9 @@ public class GruposRestController {
             GrupoViaje grupo = grupoViajeRepository.findById(idGrupo)
                     .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
             
-            // Verificar si es creador
-            boolean isCreador = permisosService.esCreadorDelGrupo(usuario, grupo);
+            // Permisos efectivos resueltos de una sola vez
+            CapacidadesGrupo capacidades = permisosService.obtenerCapacidades(usuario, grupo);
+            boolean isCreador = capacidades.isCreador();
             
             // Verificar estado de solicitud
             ParticipanteGrupo participante = participanteGrupoRepository
@@ -386,10 +431,10 @@ public class GruposRestController {
             permisos.put("puedeEditar", isCreador && isActivo);
             
             // Puede eliminar: Es creador
-            permisos.put("puedeEliminar", permisosService.usuarioTienePermiso(usuario, grupo, "ELIMINAR_GRUPO"));
+            permisos.put("puedeEliminar", capacidades.tiene("ELIMINAR_GRUPO"));
             
             // Puede cerrar: Es creador y grupo activo
-            permisos.put("puedeCerrar", permisosService.usuarioTienePermiso(usuario, grupo, "CERRAR_GRUPO") && isActivo);
+            permisos.put("puedeCerrar", capacidades.tiene("CERRAR_GRUPO") && isActivo);
             
             // Puede calificar: Es miembro y grupo cerrado
             permisos.put("puedeCalificar", (isMiembro || isCreador) && isCerrado);
@@ -398,7 +443,10 @@ public class GruposRestController {
             permisos.put("puedeVerGaleria", (isMiembro || isCreador) && (isCerrado || "concluido".equals(grupo.getEstado())));
             
             // Puede acceder chat: Es miembro aceptado
-            permisos.put("puedeAccederChat", permisosService.usuarioTienePermiso(usuario, grupo, "ACCEDER_CHAT"));
+            permisos.put("puedeAccederChat", capacidades.tiene("ACCEDER_CHAT"));
+
+            // Lista completa de permisos del rol, para que el cliente no tenga que pedirlos uno a uno
+            permisos.put("permisos", capacidades.nombres());
             
             return ResponseEntity.ok(permisos);
             
@@ -437,11 +485,8 @@ public class GruposRestController {
             }
 
             // 2. Verificar capacidad del grupo
-            long participantesAceptados = participanteGrupoRepository
-                    .countByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.ACEPTADO);
-            
             // Incluir al creador en el conteo (+1)
-            if ((participantesAceptados + 1) >= grupo.getMaxParticipantes()) {
+            if ((grupo.getParticipantesAceptados() + 1) >= grupo.getMaxParticipantes()) {
                 return ResponseEntity.badRequest().body(ActionResponse.builder()
                         .success(false)
                         .error("El grupo está lleno")
@@ -486,6 +531,7 @@ public class GruposRestController {
                         participanteExistente.setIntentosSolicitud(intentosActuales + 1);
                         participanteExistente.setFechaUnion(java.time.LocalDateTime.now());
                         participanteGrupoRepository.save(participanteExistente);
+                        eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.SOLICITUD, grupo.getIdGrupo()));
                         
                         // Enviar notificación al líder
                         notificacionService.crearNotificacionSolicitudUnion(
@@ -516,6 +562,7 @@ public class GruposRestController {
                     .build();
             
             participanteGrupoRepository.save(nuevaSolicitud);
+            eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.SOLICITUD, grupo.getIdGrupo()));
 
             // 5. Enviar notificación al líder del grupo
             notificacionService.crearNotificacionSolicitudUnion(
@@ -583,21 +630,14 @@ public class GruposRestController {
                         .build());
             }
             
-            // Verificar capacidad del grupo antes de aceptar
-            long participantesAceptados = participanteGrupoRepository
-                    .countByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.ACEPTADO);
-            
-            if ((participantesAceptados + 1) >= grupo.getMaxParticipantes()) {
+            // 1. Ocupar una plaza y actualizar el estado de la solicitud (atómico)
+            if (!participacionService.aceptarSolicitud(solicitud)) {
                 return ResponseEntity.badRequest().body(ActionResponse.builder()
                         .success(false)
                         .error("El grupo está lleno")
                         .build());
             }
             
-            // 1. Actualizar estado de la solicitud
-            solicitud.setEstadoSolicitud(EstadoSolicitud.ACEPTADO);
-            participanteGrupoRepository.save(solicitud);
-            
             // 2. Asignar rol de MIEMBRO al usuario
             // IMPORTANTE: Eliminar cualquier rol existente (activo o inactivo) antes de asignar
             Optional<UsuarioRolGrupo> rolExistente = usuarioRolGrupoRepository
@@ -678,9 +718,13 @@ public class GruposRestController {
                     ? solicitud.getIntentosSolicitud() 
                     : 1;
             
-            // 1. Actualizar estado de la solicitud
-            solicitud.setEstadoSolicitud(EstadoSolicitud.RECHAZADO);
-            participanteGrupoRepository.save(solicitud);
+            // 1. Actualizar estado de la solicitud (solo si sigue pendiente)
+            if (!participacionService.rechazarSolicitud(solicitud)) {
+                return ResponseEntity.badRequest().body(ActionResponse.builder()
+                        .success(false)
+                        .error("La solicitud no está pendiente")
+                        .build());
+            }
             
             // 2. Remover cualquier rol que pudiera tener (por si acaso)
             permisosService.removerRolEnGrupo(solicitante, grupo, lider);
@@ -745,8 +789,8 @@ public class GruposRestController {
                         .build());
             }
             
-            // Eliminar la participación
-            participanteGrupoRepository.delete(participacion);
+            // Eliminar la participación y liberar la plaza
+            participacionService.retirarParticipante(participacion);
             
             // Remover roles del usuario en este grupo
             permisosService.removerRolEnGrupo(usuario, grupo, grupo.getCreador());
@@ -779,6 +823,7 @@ public class GruposRestController {
 
             grupo.setEstado("cerrado");
             grupoViajeRepository.save(grupo);
+            eventPublisher.publishEvent(GrupoViajeEvent.de(GrupoViajeEvent.Tipo.CERRADO, grupo));
 
             return ResponseEntity.ok(ActionResponse.builder()
                     .success(true)
@@ -920,7 +965,9 @@ public class GruposRestController {
                     .orElseThrow(() -> new RuntimeException("Grupo no encontrado"));
 
             // Verificar permisos (simplificado)
+            GrupoViajeEvent evento = GrupoViajeEvent.de(GrupoViajeEvent.Tipo.ELIMINADO, grupo);
             grupoViajeRepository.delete(grupo);
+            eventPublisher.publishEvent(evento);
 
             return ResponseEntity.ok(ActionResponse.builder()
                     .success(true)
@@ -936,33 +983,44 @@ public class GruposRestController {
     }
 
     /**
-     * Obtener grupos destacados/tendencia (últimos 6 grupos activos)
+     * Obtener grupos destacados/tendencia (6 grupos con más actividad reciente)
+     * Se sirve el JSON ya generado; si el cliente tiene la misma versión se responde 304
      */
     @GetMapping("/destinos-tendencia")
-    public ResponseEntity<List<GrupoViajeResponseDTO>> obtenerGruposDestacados() {
+    public ResponseEntity<byte[]> obtenerGruposDestacados(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            // Obtener últimos 6 grupos activos ordenados por fecha de creación
-            Pageable pageable = PageRequest.of(0, 6, Sort.by("fechaCreacion").descending());
-            Page<GrupoViaje> gruposPage = grupoViajeRepository.findByEstado("activo", pageable);
-            
-            // Convertir a DTOs y filtrar los que tienen cupo disponible
-            List<GrupoViajeResponseDTO> gruposDTO = gruposPage.getContent().stream()
-                .filter(grupo -> {
-                    long aceptados = participanteGrupoRepository.countByGrupoAndEstadoSolicitud(grupo,
-                            EstadoSolicitud.ACEPTADO);
-                    return (aceptados + 1) < grupo.getMaxParticipantes();
-                })
-                .map(this::convertirADTO)
-                .limit(6)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(gruposDTO);
+            FeedTendenciasService.Feed feed = feedTendenciasService.obtener();
+
+            if (ifNoneMatch != null && ifNoneMatch.contains(feed.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(feed.getEtag())
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(feed.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(feed.getJson());
             
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(List.of());
+            return ResponseEntity.internalServerError()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body("[]".getBytes(StandardCharsets.UTF_8));
         }
     }
 
+    /**
+     * Obtener los destinos en tendencia según la actividad reciente de sus grupos
+     */
+    @GetMapping("/tendencias/destinos")
+    public ResponseEntity<List<DestinoTendenciaDTO>> obtenerDestinosTendencia(
+            @RequestParam(defaultValue = "6") int limite) {
+        return ResponseEntity.ok(tendenciasService.topDestinos(Math.max(1, Math.min(limite, 20))));
+    }
+
     /**
      * Subir imagen destacada para un grupo de viaje
      */
@@ -0,0 +1,28 @@
+package com.add.venture.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.add.venture.security.ServicioSaturadoException;
+
+/**
+ * Responde 429 con Retry-After cuando una operación costosa se rechaza porque su cola
+ * está llena (por ejemplo, el pool de verificación de contraseñas), en los controladores REST.
+ * Los formularios Thymeleaf manejan la excepción ellos mismos y redirigen con un mensaje.
+ */
+@RestControllerAdvice(annotations = RestController.class)
+public class ManejadorServicioSaturado {
+
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<Map<String, String>> servicioSaturado(ServicioSaturadoException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getReintentarEnSegundos()))
+                .body(Map.of("message", "Hay demasiadas solicitudes, intenta nuevamente en unos segundos"));
+    }
+}
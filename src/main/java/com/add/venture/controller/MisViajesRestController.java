@@ -18,7 +18,6 @@ import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.ParticipanteGrupo;
 import com.add.venture.model.Usuario;
 import com.add.venture.repository.GrupoViajeRepository;
-import com.add.venture.repository.ParticipanteGrupoRepository;
 import com.add.venture.repository.UsuarioRepository;
 
 @RestController
@@ -32,9 +31,6 @@ public class MisViajesRestController {
     @Autowired
     private GrupoViajeRepository grupoViajeRepository;
 
-    @Autowired
-    private ParticipanteGrupoRepository participanteGrupoRepository;
-
     @GetMapping
     public ResponseEntity<MisViajesResponseDTO> obtenerMisViajes(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -45,15 +41,12 @@ public class MisViajesRestController {
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        // 1. Grupos creados por el usuario
-        List<GrupoViaje> gruposCreados = grupoViajeRepository.findByCreador(usuario);
+        // 1. Grupos creados por el usuario (con viaje, creador, etiquetas y participantes)
+        List<GrupoViaje> gruposCreados = grupoViajeRepository.findConDetalleByCreador(usuario);
 
         // 2. Grupos donde el usuario es participante (no creador)
-        List<ParticipanteGrupo> participaciones = participanteGrupoRepository
-                .findByUsuarioAndEstadoSolicitud(usuario, ParticipanteGrupo.EstadoSolicitud.ACEPTADO);
-
-        List<GrupoViaje> gruposUnidos = participaciones.stream()
-                .map(ParticipanteGrupo::getGrupo)
+        List<GrupoViaje> gruposUnidos = grupoViajeRepository
+                .findConDetalleByParticipante(usuario, ParticipanteGrupo.EstadoSolicitud.ACEPTADO).stream()
                 .filter(grupo -> !grupo.getCreador().equals(usuario)) // Excluir grupos propios
                 .collect(Collectors.toList());
 
@@ -31,6 +31,7 @@ import com.add.venture.repository.NotificacionRepository;
 import com.add.venture.repository.ParticipanteGrupoRepository;
 import com.add.venture.repository.UsuarioRepository;
 import com.add.venture.service.INotificacionService;
+import com.add.venture.service.IParticipacionService;
 import com.add.venture.service.IPermisosService;
 
 @Controller
@@ -58,6 +59,9 @@ public class NotificacionController {
     @Autowired
     private IPermisosService permisosService;
 
+    @Autowired
+    private IParticipacionService participacionService;
+
     @GetMapping
     public String listarNotificaciones(Model model) {
         try {
@@ -234,14 +238,16 @@ public class NotificacionController {
                             .usuario(solicitante)
                             .grupo(grupo)
                             .rolParticipante("MIEMBRO")
-                            .estadoSolicitud(EstadoSolicitud.ACEPTADO)
+                            .estadoSolicitud(EstadoSolicitud.PENDIENTE)
                             .fechaUnion(LocalDateTime.now())
                             .build();
-                } else {
-                    solicitud.setEstadoSolicitud(EstadoSolicitud.ACEPTADO);
-                    solicitud.setFechaUnion(LocalDateTime.now());
                 }
-                participanteGrupoRepository.save(solicitud);
+
+                // Ocupar una plaza y aceptar la solicitud (atómico; también actualiza la fecha de unión)
+                if (!participacionService.aceptarSolicitud(solicitud)) {
+                    redirectAttributes.addFlashAttribute("error", "El grupo está lleno");
+                    return "redirect:/notificaciones";
+                }
                 
                 // IMPORTANTE: Asignar rol de MIEMBRO en el nuevo sistema de permisos
                 try {
@@ -267,10 +273,7 @@ public class NotificacionController {
                 redirectAttributes.addFlashAttribute("mensaje", "Solicitud aceptada exitosamente");
                 
             } else if ("rechazar".equals(accion)) {
-                if (solicitud != null) {
-                    solicitud.setEstadoSolicitud(EstadoSolicitud.RECHAZADO);
-                    participanteGrupoRepository.save(solicitud);
-                } else {
+                if (solicitud == null) {
                     // Crear registro de rechazo
                     solicitud = ParticipanteGrupo.builder()
                             .usuario(solicitante)
@@ -279,7 +282,12 @@ public class NotificacionController {
                             .estadoSolicitud(EstadoSolicitud.RECHAZADO)
                             .fechaUnion(LocalDateTime.now())
                             .build();
-                    participanteGrupoRepository.save(solicitud);
+                }
+
+                // Solo se rechazan solicitudes pendientes: un miembro aceptado conserva su plaza
+                if (!participacionService.rechazarSolicitud(solicitud)) {
+                    redirectAttributes.addFlashAttribute("error", "La solicitud ya no está pendiente");
+                    return "redirect:/notificaciones";
                 }
                 
                 // IMPORTANTE: Remover rol si existía en el nuevo sistema de permisos
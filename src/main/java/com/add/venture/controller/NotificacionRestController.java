@@ -6,7 +6,6 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,7 +17,7 @@ import com.add.venture.dto.ActionResponse;
 import com.add.venture.model.Notificacion;
 import com.add.venture.model.Usuario;
 import com.add.venture.repository.NotificacionRepository;
-import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.security.UsuarioActual;
 import com.add.venture.service.INotificacionService;
 
 @RestController
@@ -28,23 +27,16 @@ public class NotificacionRestController {
     @Autowired
     private INotificacionService notificacionService;
 
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-
     @Autowired
     private NotificacionRepository notificacionRepository;
 
     @GetMapping
-    public ResponseEntity<?> obtenerNotificaciones(Authentication authentication) {
+    public ResponseEntity<?> obtenerNotificaciones(@UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Debes iniciar sesión"));
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesUsuario(usuario);
             long noLeidas = notificacionService.contarNotificacionesNoLeidas(usuario);
 
@@ -62,16 +54,12 @@ public class NotificacionRestController {
     }
 
     @GetMapping("/no-leidas")
-    public ResponseEntity<?> obtenerNotificacionesNoLeidas(Authentication authentication) {
+    public ResponseEntity<?> obtenerNotificacionesNoLeidas(@UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Debes iniciar sesión"));
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             List<Notificacion> notificaciones = notificacionService.obtenerNotificacionesNoLeidas(usuario);
 
             Map<String, Object> response = new HashMap<>();
@@ -87,16 +75,12 @@ public class NotificacionRestController {
     }
 
     @GetMapping("/contador")
-    public ResponseEntity<?> contarNoLeidas(Authentication authentication) {
+    public ResponseEntity<?> contarNoLeidas(@UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Debes iniciar sesión"));
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             long noLeidas = notificacionService.contarNotificacionesNoLeidas(usuario);
 
             return ResponseEntity.ok(Map.of("contador", noLeidas));
@@ -108,19 +92,15 @@ public class NotificacionRestController {
     }
 
     @PutMapping("/{id}/leer")
-    public ResponseEntity<ActionResponse> marcarComoLeida(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<ActionResponse> marcarComoLeida(@PathVariable Long id, @UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             // Verificar que la notificación pertenece al usuario
             Notificacion notificacion = notificacionRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Notificación no encontrada"));
@@ -148,19 +128,15 @@ public class NotificacionRestController {
     }
 
     @PutMapping("/leer-todas")
-    public ResponseEntity<ActionResponse> marcarTodasComoLeidas(Authentication authentication) {
+    public ResponseEntity<ActionResponse> marcarTodasComoLeidas(@UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             notificacionService.marcarTodasComoLeidas(usuario);
 
             return ResponseEntity.ok(ActionResponse.builder()
@@ -177,19 +153,15 @@ public class NotificacionRestController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ActionResponse> eliminarNotificacion(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<ActionResponse> eliminarNotificacion(@PathVariable Long id, @UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             // Verificar que la notificación pertenece al usuario
             Notificacion notificacion = notificacionRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Notificación no encontrada"));
@@ -217,19 +189,15 @@ public class NotificacionRestController {
     }
 
     @DeleteMapping
-    public ResponseEntity<ActionResponse> eliminarTodasLasNotificaciones(Authentication authentication) {
+    public ResponseEntity<ActionResponse> eliminarTodasLasNotificaciones(@UsuarioActual Usuario usuario) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(ActionResponse.builder()
                         .success(false)
                         .error("Debes iniciar sesión")
                         .build());
             }
 
-            String email = authentication.getName();
-            Usuario usuario = usuarioRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
             notificacionService.eliminarTodasLasNotificaciones(usuario);
 
             return ResponseEntity.ok(ActionResponse.builder()
@@ -46,7 +46,6 @@ import com.add.venture.model.Resena;
 import com.add.venture.model.Usuario;
 import com.add.venture.model.UsuarioLogro;
 import com.add.venture.repository.GrupoViajeRepository;
-import com.add.venture.repository.ParticipanteGrupoRepository;
 import com.add.venture.repository.ResenaRepository;
 import com.add.venture.repository.UsuarioRepository;
 import com.add.venture.service.ILogroService;
@@ -68,8 +67,6 @@ public class PerfilRestController {
     @Autowired
     private GrupoViajeRepository grupoViajeRepository;
 
-    @Autowired
-    private ParticipanteGrupoRepository participanteGrupoRepository;
 
     /**
      * Obtener el perfil del usuario autenticado
@@ -263,10 +260,10 @@ public class PerfilRestController {
      * Carga los datos de viajes (próximos e historial)
      */
     private void cargarViajes(Usuario usuario, PerfilResponseDTO response) {
-        List<GrupoViaje> gruposCreados = grupoViajeRepository.findByCreadorOrderByFechaCreacionDesc(usuario);
-        List<ParticipanteGrupo> participaciones = participanteGrupoRepository
-                .findByUsuarioAndEstadoSolicitudOrderByFechaUnionDesc(
-                        usuario, ParticipanteGrupo.EstadoSolicitud.ACEPTADO);
+        // Solo se carga el viaje de cada grupo (plan "profile-summary")
+        List<GrupoViaje> gruposCreados = grupoViajeRepository.findResumenByCreadorOrderByFechaCreacionDesc(usuario);
+        List<GrupoViaje> gruposUnidos = grupoViajeRepository.findResumenByParticipante(
+                usuario, ParticipanteGrupo.EstadoSolicitud.ACEPTADO);
 
         List<ViajePerfilDTO> proximosViajes = new ArrayList<>();
         List<ViajePerfilDTO> historialViajes = new ArrayList<>();
@@ -282,8 +279,7 @@ public class PerfilRestController {
         }
 
         // Procesar grupos donde participa
-        for (ParticipanteGrupo participacion : participaciones) {
-            GrupoViaje grupo = participacion.getGrupo();
+        for (GrupoViaje grupo : gruposUnidos) {
             ViajePerfilDTO viaje = convertirGrupoAViajeDTO(grupo);
             if ("activo".equals(grupo.getEstado())) {
                 proximosViajes.add(viaje);
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.add.venture.dto.RegistroUsuarioDTO;
+import com.add.venture.security.ServicioSaturadoException;
 import com.add.venture.service.IUsuarioService;
 
 @Controller
@@ -49,7 +50,14 @@ public class UsuarioController {
         }
 
         // Si todo está bien, crear el usuario
-        usuarioService.crearUsuario(dto);
+        try {
+            usuarioService.crearUsuario(dto);
+        } catch (ServicioSaturadoException e) {
+            // El pool de contraseñas está lleno: volver al formulario en lugar de mostrar un 429
+            redirectAttributes.addFlashAttribute("error",
+                    "Hay demasiadas solicitudes, intenta nuevamente en unos segundos");
+            return "redirect:/usuarios/registro";
+        }
         redirectAttributes.addFlashAttribute("mensaje", "Registro exitoso");
         return "redirect:/";
     }
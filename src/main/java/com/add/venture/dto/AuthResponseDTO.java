@@ -12,5 +12,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponseDTO {
     private String token;
     private String tipo; // "Bearer"
+    private String refreshToken; // se usa en /api/auth/refresh cuando vence el token
+    private Long expiraEn; // duración del token en milisegundos
     private UserInfoDTO usuario;
 }
@@ -0,0 +1,32 @@
+package com.add.venture.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros opcionales de la búsqueda de grupos. Los campos nulos o vacíos no se aplican.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroBusquedaGruposDTO {
+
+    private String destino;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+
+    // Rango de edad buscado: se aceptan grupos cuyo rango se solape con este
+    private Integer edadMin;
+    private Integer edadMax;
+
+    private Boolean verificado;
+
+    // Se aceptan grupos que tengan al menos una de las etiquetas
+    private List<String> etiquetas;
+}
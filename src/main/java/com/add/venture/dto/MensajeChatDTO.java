@@ -0,0 +1,68 @@
+package com.add.venture.dto;
+
+import java.time.LocalDateTime;
+
+import com.add.venture.model.MensajeGrupo;
+import com.add.venture.model.Usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensaje del chat tal como se envía al cliente (historial REST y WebSocket).
+ * Solo lleva los datos que muestra el chat, sin el grafo de la entidad.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MensajeChatDTO {
+
+    private Long idMensaje;
+    private Long idGrupo;
+    private String mensaje;
+    private String tipoMensaje;
+    private String archivoUrl;
+    private String archivoNombre;
+    private LocalDateTime fechaEnvio;
+
+    // Información del remitente
+    private RemitenteInfo remitente;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RemitenteInfo {
+        private Long idUsuario;
+        private String nombre;
+        private String apellidos;
+        private String iniciales;
+        private String fotoPerfil;
+    }
+
+    /**
+     * Convierte el mensaje (el remitente debe estar cargado)
+     */
+    public static MensajeChatDTO de(MensajeGrupo mensaje) {
+        Usuario remitente = mensaje.getRemitente();
+        return MensajeChatDTO.builder()
+                .idMensaje(mensaje.getIdMensaje())
+                .idGrupo(mensaje.getGrupo() != null ? mensaje.getGrupo().getIdGrupo() : null)
+                .mensaje(mensaje.getMensaje())
+                .tipoMensaje(mensaje.getTipoMensaje())
+                .archivoUrl(mensaje.getArchivoUrl())
+                .archivoNombre(mensaje.getArchivoNombre())
+                .fechaEnvio(mensaje.getFechaEnvio())
+                .remitente(remitente == null ? null : RemitenteInfo.builder()
+                        .idUsuario(remitente.getIdUsuario())
+                        .nombre(remitente.getNombre())
+                        .apellidos(remitente.getApellidos())
+                        .iniciales(remitente.getIniciales())
+                        .fotoPerfil(remitente.getFotoPerfil())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.add.venture.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SugerenciaDestinoDTO {
+    private String texto;
+    private Integer cantidadGrupos;
+}
@@ -0,0 +1,54 @@
+package com.add.venture.event;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/**
+ * Evento de actividad en un grupo (solicitudes, mensajes, reseñas y plazas).
+ * Alimenta el ranking de tendencias, que lo procesa al confirmarse la transacción.
+ */
+@Getter
+public class ActividadGrupoEvent {
+
+    public enum Tipo {
+        SOLICITUD, MENSAJE, RESENA, PLAZA_OCUPADA, PLAZA_LIBERADA
+    }
+
+    private final Tipo tipo;
+    private final Long idGrupo;
+    private final String destino;
+    private final double valor;
+    private final LocalDateTime fecha;
+
+    private ActividadGrupoEvent(Tipo tipo, Long idGrupo, String destino, double valor) {
+        this.tipo = tipo;
+        this.idGrupo = idGrupo;
+        this.destino = destino;
+        this.valor = valor;
+        this.fecha = LocalDateTime.now();
+    }
+
+    /**
+     * Crea un evento de actividad simple (cuenta como una unidad)
+     *
+     * @param tipo el tipo de actividad
+     * @param idGrupo el ID del grupo
+     * @return el evento
+     */
+    public static ActividadGrupoEvent de(Tipo tipo, Long idGrupo) {
+        return new ActividadGrupoEvent(tipo, idGrupo, null, 1);
+    }
+
+    /**
+     * Crea el evento de una reseña; suma al destino aunque el grupo ya no esté activo
+     *
+     * @param idGrupo el ID del grupo
+     * @param destino el destino principal del viaje del grupo
+     * @param calificacion la calificación (1 a 5)
+     * @return el evento
+     */
+    public static ActividadGrupoEvent resena(Long idGrupo, String destino, int calificacion) {
+        return new ActividadGrupoEvent(Tipo.RESENA, idGrupo, destino, calificacion / 5.0);
+    }
+}
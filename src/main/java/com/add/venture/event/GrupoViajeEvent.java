@@ -0,0 +1,68 @@
+package com.add.venture.event;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.add.venture.model.GrupoViaje;
+
+import lombok.Getter;
+
+/**
+ * Evento publicado cuando cambia un grupo de viaje. Lleva una copia de los datos
+ * que necesitan las estructuras en memoria (índices, caché de tendencias) para
+ * no tener que consultar la base de datos ni tocar relaciones lazy al procesarlo.
+ *
+ * Los listeners usan @TransactionalEventListener, así que solo se procesa
+ * cuando la transacción que lo publicó se confirma.
+ */
+@Getter
+public class GrupoViajeEvent {
+
+    public enum Tipo {
+        CREADO, ACTUALIZADO, CERRADO, ELIMINADO, LLENO
+    }
+
+    private final Tipo tipo;
+    private final Long idGrupo;
+    private final boolean activo;
+    private final String destino;
+    private final String descripcion;
+    private final List<String> etiquetas;
+
+    private GrupoViajeEvent(Tipo tipo, Long idGrupo, boolean activo, String destino, String descripcion,
+            List<String> etiquetas) {
+        this.tipo = tipo;
+        this.idGrupo = idGrupo;
+        this.activo = activo;
+        this.destino = destino;
+        this.descripcion = descripcion;
+        this.etiquetas = etiquetas;
+    }
+
+    /**
+     * Crea el evento copiando los datos actuales del grupo
+     *
+     * @param tipo el tipo de cambio
+     * @param grupo el grupo (con viaje y etiquetas accesibles)
+     * @return el evento
+     */
+    public static GrupoViajeEvent de(Tipo tipo, GrupoViaje grupo) {
+        boolean activo = tipo != Tipo.ELIMINADO && "activo".equals(grupo.getEstado());
+        String destino = grupo.getViaje() != null ? grupo.getViaje().getDestinoPrincipal() : null;
+        String descripcion = grupo.getViaje() != null ? grupo.getViaje().getDescripcion() : null;
+        List<String> etiquetas = grupo.getEtiquetas() != null
+                ? grupo.getEtiquetas().stream().map(e -> e.getNombreEtiqueta()).collect(Collectors.toList())
+                : List.of();
+        return new GrupoViajeEvent(tipo, grupo.getIdGrupo(), activo, destino, descripcion, etiquetas);
+    }
+
+    /**
+     * Crea el evento de grupo lleno (solo interesa el ID; el grupo sigue activo)
+     *
+     * @param idGrupo el ID del grupo
+     * @return el evento
+     */
+    public static GrupoViajeEvent lleno(Long idGrupo) {
+        return new GrupoViajeEvent(Tipo.LLENO, idGrupo, true, null, null, List.of());
+    }
+}
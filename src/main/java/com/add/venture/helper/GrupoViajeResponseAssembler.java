@@ -0,0 +1,178 @@
+package com.add.venture.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.add.venture.dto.GrupoViajeResponseDTO;
+import com.add.venture.model.Etiqueta;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.ParticipanteGrupo;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
+import com.add.venture.model.Usuario;
+import com.add.venture.model.Viaje;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.repository.ParticipanteGrupoRepository;
+
+/**
+ * Construye los GrupoViajeResponseDTO de una página completa con un número fijo de
+ * consultas: participantes aceptados (con su usuario) y etiquetas se cargan en bloque
+ * para todos los grupos, en lugar de consultar grupo por grupo.
+ *
+ * Se espera que los grupos recibidos ya tengan viaje y creador cargados
+ * (plan "card" o "detail" de GrupoViaje, o GrupoViajeSpecifications.cargarTarjeta).
+ */
+@Component
+public class GrupoViajeResponseAssembler {
+
+    @Autowired
+    private ParticipanteGrupoRepository participanteGrupoRepository;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    /**
+     * Convierte una lista de grupos a DTO cargando participantes y etiquetas en bloque
+     *
+     * @param grupos los grupos de la página, en el orden en que se deben devolver
+     * @return lista de DTOs en el mismo orden
+     */
+    public List<GrupoViajeResponseDTO> convertir(List<GrupoViaje> grupos) {
+        if (grupos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = obtenerIds(grupos);
+
+        // Participantes aceptados de todos los grupos (una consulta)
+        Map<Long, List<GrupoViajeResponseDTO.ParticipanteInfo>> participantesPorGrupo = new HashMap<>();
+        for (ParticipanteGrupo p : participanteGrupoRepository.findConUsuarioByGruposAndEstado(ids,
+                EstadoSolicitud.ACEPTADO)) {
+            participantesPorGrupo
+                    .computeIfAbsent(p.getGrupo().getIdGrupo(), k -> new ArrayList<>())
+                    .add(convertirParticipante(p.getUsuario()));
+        }
+
+        // Etiquetas de todos los grupos: si ya vienen cargadas (plan "detail") se usan,
+        // si no, una sola consulta para todos
+        Map<Long, List<String>> etiquetasPorGrupo = new HashMap<>();
+        if (grupos.stream().allMatch(g -> Hibernate.isInitialized(g.getEtiquetas()))) {
+            for (GrupoViaje grupo : grupos) {
+                if (grupo.getEtiquetas() != null) {
+                    etiquetasPorGrupo.put(grupo.getIdGrupo(), grupo.getEtiquetas().stream()
+                            .map(Etiqueta::getNombreEtiqueta)
+                            .collect(Collectors.toList()));
+                }
+            }
+        } else {
+            for (Object[] fila : grupoViajeRepository.findNombresEtiquetasByGrupos(ids)) {
+                etiquetasPorGrupo
+                        .computeIfAbsent((Long) fila[0], k -> new ArrayList<>())
+                        .add((String) fila[1]);
+            }
+        }
+
+        return grupos.stream()
+                .map(grupo -> construirDTO(grupo,
+                        participantesPorGrupo.getOrDefault(grupo.getIdGrupo(), new ArrayList<>()),
+                        etiquetasPorGrupo.getOrDefault(grupo.getIdGrupo(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Carga en bloque los participantes aceptados (con su usuario) de los grupos de una
+     * página y los deja en grupo.getParticipantes(), para las vistas que muestran las entidades
+     *
+     * @param grupos los grupos de la página
+     */
+    public void cargarParticipantesAceptados(List<GrupoViaje> grupos) {
+        if (grupos.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Set<ParticipanteGrupo>> participantesPorGrupo = new HashMap<>();
+        for (ParticipanteGrupo p : participanteGrupoRepository.findConUsuarioByGruposAndEstado(obtenerIds(grupos),
+                EstadoSolicitud.ACEPTADO)) {
+            participantesPorGrupo.computeIfAbsent(p.getGrupo().getIdGrupo(), k -> new HashSet<>()).add(p);
+        }
+
+        for (GrupoViaje grupo : grupos) {
+            grupo.setParticipantes(participantesPorGrupo.getOrDefault(grupo.getIdGrupo(), new HashSet<>()));
+        }
+    }
+
+    /**
+     * Convierte un único grupo a DTO
+     *
+     * @param grupo el grupo a convertir
+     * @return el DTO del grupo
+     */
+    public GrupoViajeResponseDTO convertir(GrupoViaje grupo) {
+        return convertir(List.of(grupo)).get(0);
+    }
+
+    private GrupoViajeResponseDTO construirDTO(GrupoViaje grupo,
+            List<GrupoViajeResponseDTO.ParticipanteInfo> participantesDTO, List<String> etiquetas) {
+
+        // Construir información del viaje
+        GrupoViajeResponseDTO.ViajeInfo viajeInfo = null;
+        Viaje viaje = grupo.getViaje();
+        if (viaje != null) {
+            viajeInfo = GrupoViajeResponseDTO.ViajeInfo.builder()
+                    .idViaje(viaje.getIdViaje())
+                    .destinoPrincipal(viaje.getDestinoPrincipal())
+                    .fechaInicio(viaje.getFechaInicio())
+                    .fechaFin(viaje.getFechaFin())
+                    .descripcion(viaje.getDescripcion())
+                    .puntoEncuentro(viaje.getPuntoEncuentro())
+                    .rangoEdadMin(viaje.getRangoEdadMin())
+                    .rangoEdadMax(viaje.getRangoEdadMax())
+                    .esVerificado(viaje.getEsVerificado())
+                    .imagenDestacada(viaje.getImagenDestacada())
+                    .build();
+        }
+
+        // Construir información del creador
+        Usuario creador = grupo.getCreador();
+        GrupoViajeResponseDTO.CreadorInfo creadorInfo = GrupoViajeResponseDTO.CreadorInfo.builder()
+                .idUsuario(creador.getIdUsuario())
+                .nombreCompleto(creador.getNombre() + " " + creador.getApellidos())
+                .fotoPerfil(creador.getFotoPerfil())
+                .iniciales(creador.getIniciales())
+                .build();
+
+        return GrupoViajeResponseDTO.builder()
+                .idGrupo(grupo.getIdGrupo())
+                .nombreViaje(grupo.getNombreViaje())
+                .maxParticipantes(grupo.getMaxParticipantes())
+                .estado(grupo.getEstado())
+                .viaje(viajeInfo)
+                .creador(creadorInfo)
+                .participantes(participantesDTO)
+                .totalParticipantes(participantesDTO.size() + 1) // +1 por el creador
+                .etiquetas(etiquetas)
+                .build();
+    }
+
+    private GrupoViajeResponseDTO.ParticipanteInfo convertirParticipante(Usuario usuario) {
+        return GrupoViajeResponseDTO.ParticipanteInfo.builder()
+                .idUsuario(usuario.getIdUsuario())
+                .nombreCompleto(usuario.getNombre() + " " + usuario.getApellidos())
+                .fotoPerfil(usuario.getFotoPerfil())
+                .iniciales(usuario.getIniciales())
+                .build();
+    }
+
+    private List<Long> obtenerIds(Collection<GrupoViaje> grupos) {
+        return grupos.stream().map(GrupoViaje::getIdGrupo).collect(Collectors.toList());
+    }
+}
@@ -3,15 +3,14 @@ package com.add.venture.helper;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.Rol;
 import com.add.venture.model.Usuario;
-import com.add.venture.repository.GrupoViajeRepository;
 import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.security.ContextoUsuarioActual;
+import com.add.venture.service.CapacidadesGrupo;
 import com.add.venture.service.IPermisosService;
 
 @Component("permisos")
@@ -24,7 +23,23 @@ public class PermisosThymeleafHelper {
     private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private GrupoViajeRepository grupoViajeRepository;
+    private ContextoUsuarioActual contextoUsuarioActual;
+
+    /**
+     * Obtiene todos los permisos del usuario actual en un grupo de una sola vez.
+     * En las plantillas conviene guardarlo con th:with y verificar con cap.tiene('PERMISO')
+     * en lugar de llamar varias veces a los métodos individuales.
+     * 
+     * @param idGrupo ID del grupo
+     * @return las capacidades del usuario (vacías si no hay sesión o el grupo no existe)
+     */
+    public CapacidadesGrupo capacidades(Long idGrupo) {
+        try {
+            return permisosService.obtenerCapacidades(obtenerUsuarioActual(), obtenerGrupo(idGrupo));
+        } catch (Exception e) {
+            return CapacidadesGrupo.ninguna();
+        }
+    }
 
     /**
      * Verifica si el usuario actual tiene un permiso específico en un grupo
@@ -34,18 +49,7 @@ public class PermisosThymeleafHelper {
      * @return true si tiene el permiso, false en caso contrario
      */
     public boolean tienePermiso(Long idGrupo, String nombrePermiso) {
-        try {
-            Usuario usuario = obtenerUsuarioActual();
-            GrupoViaje grupo = obtenerGrupo(idGrupo);
-            
-            if (usuario == null || grupo == null) {
-                return false;
-            }
-            
-            return permisosService.usuarioTienePermiso(usuario, grupo, nombrePermiso);
-        } catch (Exception e) {
-            return false;
-        }
+        return capacidades(idGrupo).tiene(nombrePermiso);
     }
 
     /**
@@ -56,18 +60,7 @@ public class PermisosThymeleafHelper {
      * @return true si tiene al menos uno de los permisos, false en caso contrario
      */
     public boolean tieneAlgunPermiso(Long idGrupo, List<String> nombresPermisos) {
-        try {
-            Usuario usuario = obtenerUsuarioActual();
-            GrupoViaje grupo = obtenerGrupo(idGrupo);
-            
-            if (usuario == null || grupo == null) {
-                return false;
-            }
-            
-            return permisosService.usuarioTieneAlgunPermiso(usuario, grupo, nombresPermisos);
-        } catch (Exception e) {
-            return false;
-        }
+        return capacidades(idGrupo).tieneAlguno(nombresPermisos);
     }
 
     /**
@@ -221,20 +214,12 @@ public class PermisosThymeleafHelper {
 
     // ===== MÉTODOS PRIVADOS =====
 
+    // Memorizados por petición: una plantilla con muchas verificaciones consulta una sola vez
     private Usuario obtenerUsuarioActual() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated() || auth.getName().equals("anonymousUser")) {
-            return null;
-        }
-
-        String email = auth.getName();
-        return usuarioRepository.findByEmail(email).orElse(null);
+        return contextoUsuarioActual.obtenerUsuario();
     }
 
     private GrupoViaje obtenerGrupo(Long idGrupo) {
-        if (idGrupo == null) {
-            return null;
-        }
-        return grupoViajeRepository.findById(idGrupo).orElse(null);
+        return contextoUsuarioActual.obtenerGrupo(idGrupo);
     }
-} 
\ No newline at end of file
+}
@@ -9,7 +9,7 @@ import org.springframework.ui.Model;
 import com.add.venture.dto.PerfilUsuarioDTO;
 import com.add.venture.dto.RegistroUsuarioDTO;
 import com.add.venture.model.Usuario;
-import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.security.ContextoUsuarioActual;
 import com.add.venture.service.INotificacionService;
 import com.add.venture.service.IUsuarioService;
 
@@ -23,7 +23,7 @@ public class UsuarioAutenticadoHelper {
     private INotificacionService notificacionService;
     
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private ContextoUsuarioActual contextoUsuarioActual;
 
     public void cargarDatosUsuarioParaNavbar(Model model) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -47,7 +47,7 @@ public class UsuarioAutenticadoHelper {
 
                 // Cargar número de notificaciones no leídas
                 try {
-                    Usuario usuarioEntity = usuarioRepository.findByEmail(correo).orElse(null);
+                    Usuario usuarioEntity = contextoUsuarioActual.buscarPorEmail(correo);
                     if (usuarioEntity != null) {
                         long notificacionesNoLeidas = notificacionService.contarNotificacionesNoLeidas(usuarioEntity);
                         model.addAttribute("notificacionesNoLeidas", notificacionesNoLeidas);
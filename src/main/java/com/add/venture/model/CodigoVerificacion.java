@@ -0,0 +1,41 @@
+package com.add.venture.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Código de verificación de email pendiente (solo con verificacion.almacen=mysql).
+ * Se guarda el hash del código, no el código.
+ */
+@Entity
+@Table(name = "CodigoVerificacion", indexes = {
+        @Index(name = "idx_codigo_verificacion_expiracion", columnList = "fecha_expiracion")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CodigoVerificacion {
+
+    @Id
+    @Column(length = 100)
+    private String email;
+
+    @Column(name = "codigo_hash", length = 64, nullable = false)
+    private String codigoHash;
+
+    @Column(name = "fecha_expiracion", nullable = false)
+    private LocalDateTime fechaExpiracion;
+
+    @Builder.Default
+    private Integer intentos = 0;
+}
@@ -6,6 +6,8 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -16,6 +18,9 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -26,14 +31,38 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.NoArgsConstructor;
 
+/**
+ * Planes de carga (entity graphs) según lo que muestra cada pantalla:
+ * - card: tarjeta de listados (viaje y creador)
+ * - detail: detalle del grupo (además etiquetas y participantes con su usuario)
+ * - profile-summary: resumen en el perfil (solo el viaje)
+ */
 @Entity
 @Table(name = "GrupoViaje")
+@NamedEntityGraph(name = GrupoViaje.GRAFO_TARJETA, attributeNodes = {
+        @NamedAttributeNode("viaje"),
+        @NamedAttributeNode("creador")
+})
+@NamedEntityGraph(name = GrupoViaje.GRAFO_DETALLE, attributeNodes = {
+        @NamedAttributeNode("viaje"),
+        @NamedAttributeNode("creador"),
+        @NamedAttributeNode("etiquetas"),
+        @NamedAttributeNode(value = "participantes", subgraph = "participante-usuario")
+}, subgraphs = @NamedSubgraph(name = "participante-usuario", attributeNodes = @NamedAttributeNode("usuario")))
+@NamedEntityGraph(name = GrupoViaje.GRAFO_RESUMEN_PERFIL, attributeNodes = {
+        @NamedAttributeNode("viaje")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class GrupoViaje {
 
+    public static final String GRAFO_TARJETA = "GrupoViaje.card";
+    public static final String GRAFO_DETALLE = "GrupoViaje.detail";
+    public static final String GRAFO_RESUMEN_PERFIL = "GrupoViaje.profile-summary";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_grupo")
@@ -51,6 +80,13 @@ public class GrupoViaje {
     @Column(name = "max_participantes")
     private Integer maxParticipantes;
 
+    // Participantes aceptados (sin contar al creador). Solo se modifica con los UPDATE
+    // condicionales de GrupoViajeRepository; @DynamicUpdate evita que guardar el grupo
+    // sobrescriba el contador con un valor desactualizado.
+    @Column(name = "participantes_aceptados", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Integer participantesAceptados = 0;
+
     // Relaciones
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
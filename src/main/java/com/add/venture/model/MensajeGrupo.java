@@ -2,13 +2,13 @@ package com.add.venture.model;
 
 import java.time.LocalDateTime;
 
+import com.add.venture.util.IdTemporal;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,7 +18,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "MensajeGrupo")
+@Table(name = "MensajeGrupo", indexes = {
+        // Historial del chat por cursor: WHERE id_grupo = ? ORDER BY fecha_envio DESC, id_mensaje DESC
+        @Index(name = "idx_mensaje_grupo_historial", columnList = "id_grupo, fecha_envio, id_mensaje")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +29,7 @@ import lombok.NoArgsConstructor;
 public class MensajeGrupo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdTemporal
     @Column(name = "id_mensaje")
     private Long idMensaje;
 
@@ -2,12 +2,11 @@ package com.add.venture.model;
 
 import java.time.LocalDateTime;
 
+import com.add.venture.util.IdTemporal;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -26,7 +25,7 @@ import lombok.NoArgsConstructor;
 public class Notificacion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdTemporal
     @Column(name = "id_notificacion")
     private Long idNotificacion;
 
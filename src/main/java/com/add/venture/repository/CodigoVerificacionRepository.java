@@ -0,0 +1,34 @@
+package com.add.venture.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.add.venture.model.CodigoVerificacion;
+
+import jakarta.persistence.LockModeType;
+
+public interface CodigoVerificacionRepository extends JpaRepository<CodigoVerificacion, String> {
+
+    // Bloquea la fila para contar los intentos sin carreras entre instancias
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CodigoVerificacion c WHERE c.email = :email")
+    Optional<CodigoVerificacion> findParaVerificar(@Param("email") String email);
+
+    // Elimina los códigos vencidos
+    @Modifying
+    @Query("DELETE FROM CodigoVerificacion c WHERE c.fechaExpiracion < :fecha")
+    int eliminarVencidosAntesDe(@Param("fecha") LocalDateTime fecha);
+
+    // Códigos más próximos a vencer (los más antiguos), para respetar el máximo de pendientes
+    @Query("SELECT c FROM CodigoVerificacion c ORDER BY c.fechaExpiracion ASC")
+    List<CodigoVerificacion> findMasAntiguos(Pageable pageable);
+}
@@ -1,15 +1,20 @@
 package com.add.venture.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
 import com.add.venture.model.Usuario;
 import com.add.venture.model.Viaje;
 
@@ -56,6 +61,59 @@ public interface GrupoViajeRepository extends JpaRepository<GrupoViaje, Long> {
      * @return lista de grupos ordenados por fecha
      */
     List<GrupoViaje> findByCreadorOrderByFechaCreacionDesc(Usuario creador);
+
+    /**
+     * Busca un grupo con viaje, creador, etiquetas y participantes (plan "detail")
+     * 
+     * @param idGrupo el ID del grupo
+     * @return el grupo si existe
+     */
+    @EntityGraph(GrupoViaje.GRAFO_DETALLE)
+    Optional<GrupoViaje> findConDetalleByIdGrupo(Long idGrupo);
+
+    /**
+     * Busca los grupos creados por un usuario con su detalle (plan "detail")
+     * 
+     * @param creador el usuario creador
+     * @return lista de grupos creados por el usuario
+     */
+    @EntityGraph(GrupoViaje.GRAFO_DETALLE)
+    List<GrupoViaje> findConDetalleByCreador(Usuario creador);
+
+    /**
+     * Busca los grupos donde el usuario participa con el estado indicado, con su detalle (plan "detail")
+     * 
+     * @param usuario el usuario participante
+     * @param estado el estado de la solicitud
+     * @return lista de grupos
+     */
+    @EntityGraph(GrupoViaje.GRAFO_DETALLE)
+    @Query("SELECT g FROM GrupoViaje g WHERE EXISTS (SELECT p FROM ParticipanteGrupo p " +
+           "WHERE p.grupo = g AND p.usuario = :usuario AND p.estadoSolicitud = :estado)")
+    List<GrupoViaje> findConDetalleByParticipante(@Param("usuario") Usuario usuario,
+            @Param("estado") EstadoSolicitud estado);
+
+    /**
+     * Busca los grupos creados por un usuario solo con su viaje (plan "profile-summary")
+     * 
+     * @param creador el usuario creador
+     * @return lista de grupos ordenados por fecha de creación descendente
+     */
+    @EntityGraph(GrupoViaje.GRAFO_RESUMEN_PERFIL)
+    List<GrupoViaje> findResumenByCreadorOrderByFechaCreacionDesc(Usuario creador);
+
+    /**
+     * Busca los grupos donde el usuario participa solo con su viaje (plan "profile-summary")
+     * 
+     * @param usuario el usuario participante
+     * @param estado el estado de la solicitud
+     * @return lista de grupos ordenados por fecha de unión descendente
+     */
+    @EntityGraph(GrupoViaje.GRAFO_RESUMEN_PERFIL)
+    @Query("SELECT g FROM GrupoViaje g JOIN ParticipanteGrupo p ON p.grupo = g " +
+           "WHERE p.usuario = :usuario AND p.estadoSolicitud = :estado ORDER BY p.fechaUnion DESC")
+    List<GrupoViaje> findResumenByParticipante(@Param("usuario") Usuario usuario,
+            @Param("estado") EstadoSolicitud estado);
     
     /**
      * Busca todos los grupos por estado
@@ -80,4 +138,109 @@ public interface GrupoViajeRepository extends JpaRepository<GrupoViaje, Long> {
      */
     @Query("SELECT g FROM GrupoViaje g WHERE g.estado IN :estados AND g.fechaCreacion < :fecha")
     List<GrupoViaje> findGruposCerradosAntiguos(@Param("estados") List<String> estados, @Param("fecha") LocalDateTime fecha);
-}
\ No newline at end of file
+
+    /**
+     * Obtiene los nombres de etiquetas de varios grupos en una sola consulta
+     * 
+     * @param idsGrupos los IDs de los grupos
+     * @return filas [idGrupo, nombreEtiqueta]
+     */
+    @Query("SELECT g.idGrupo, e.nombreEtiqueta FROM GrupoViaje g JOIN g.etiquetas e WHERE g.idGrupo IN :idsGrupos")
+    List<Object[]> findNombresEtiquetasByGrupos(@Param("idsGrupos") Collection<Long> idsGrupos);
+
+    /**
+     * Obtiene los nombres de etiquetas de todos los grupos con un estado
+     * 
+     * @param estado el estado de los grupos
+     * @return filas [idGrupo, nombreEtiqueta]
+     */
+    @Query("SELECT g.idGrupo, e.nombreEtiqueta FROM GrupoViaje g JOIN g.etiquetas e WHERE g.estado = :estado")
+    List<Object[]> findNombresEtiquetasByEstado(@Param("estado") String estado);
+
+    /**
+     * Obtiene los textos buscables (destino y descripción del viaje) de los grupos con un estado
+     * 
+     * @param estado el estado de los grupos
+     * @return filas [idGrupo, destinoPrincipal, descripcion]
+     */
+    @Query("SELECT g.idGrupo, v.destinoPrincipal, v.descripcion FROM GrupoViaje g JOIN g.viaje v WHERE g.estado = :estado")
+    List<Object[]> findDatosBusquedaByEstado(@Param("estado") String estado);
+
+    /**
+     * Ocupa una plaza del grupo solo si todavía hay cupo (participantes + creador < máximo).
+     * El UPDATE condicional es atómico, por lo que dos aceptaciones simultáneas no pueden
+     * ocupar la misma última plaza.
+     * 
+     * @param idGrupo el ID del grupo
+     * @return 1 si se ocupó la plaza, 0 si el grupo está lleno
+     */
+    @Modifying
+    @Query("UPDATE GrupoViaje g SET g.participantesAceptados = g.participantesAceptados + 1 " +
+           "WHERE g.idGrupo = :idGrupo AND g.participantesAceptados + 1 < g.maxParticipantes")
+    int ocuparPlaza(@Param("idGrupo") Long idGrupo);
+
+    /**
+     * Incrementa el contador de aceptados sin validar el cupo
+     * 
+     * @param idGrupo el ID del grupo
+     * @return número de filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE GrupoViaje g SET g.participantesAceptados = g.participantesAceptados + 1 WHERE g.idGrupo = :idGrupo")
+    int incrementarParticipantesAceptados(@Param("idGrupo") Long idGrupo);
+
+    /**
+     * Indica si el grupo ya no tiene cupo (aceptados + creador >= máximo)
+     * 
+     * @param idGrupo el ID del grupo
+     * @return true si el grupo está lleno
+     */
+    @Query("SELECT CASE WHEN g.participantesAceptados + 1 >= g.maxParticipantes THEN true ELSE false END " +
+           "FROM GrupoViaje g WHERE g.idGrupo = :idGrupo")
+    boolean estaLleno(@Param("idGrupo") Long idGrupo);
+
+    /**
+     * Libera una plaza del grupo (nunca deja el contador en negativo)
+     * 
+     * @param idGrupo el ID del grupo
+     * @return número de filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE GrupoViaje g SET g.participantesAceptados = g.participantesAceptados - 1 " +
+           "WHERE g.idGrupo = :idGrupo AND g.participantesAceptados > 0")
+    int liberarPlaza(@Param("idGrupo") Long idGrupo);
+
+    /**
+     * Recalcula el contador de aceptados de los grupos cuyo valor no coincide con
+     * los registros de ParticipanteGrupo
+     * 
+     * @param aceptado el estado que se considera aceptado
+     * @return número de grupos corregidos
+     */
+    @Modifying
+    @Query("UPDATE GrupoViaje g SET g.participantesAceptados = " +
+           "(SELECT COUNT(p) FROM ParticipanteGrupo p WHERE p.grupo = g AND p.estadoSolicitud = :aceptado) " +
+           "WHERE g.participantesAceptados <> " +
+           "(SELECT COUNT(p2) FROM ParticipanteGrupo p2 WHERE p2.grupo = g AND p2.estadoSolicitud = :aceptado)")
+    int reconciliarParticipantesAceptados(@Param("aceptado") EstadoSolicitud aceptado);
+
+    /**
+     * Datos que usa el ranking de tendencias de cada grupo con el estado indicado
+     * 
+     * @param estado el estado de los grupos
+     * @return filas [idGrupo, destinoPrincipal, imagenDestacada, participantesAceptados, maxParticipantes]
+     */
+    @Query("SELECT g.idGrupo, v.destinoPrincipal, v.imagenDestacada, g.participantesAceptados, g.maxParticipantes " +
+           "FROM GrupoViaje g JOIN g.viaje v WHERE g.estado = :estado")
+    List<Object[]> findDatosTendenciaByEstado(@Param("estado") String estado);
+
+    /**
+     * Datos que usa el ranking de tendencias de un grupo
+     * 
+     * @param idGrupo el ID del grupo
+     * @return una fila [idGrupo, destinoPrincipal, imagenDestacada, participantesAceptados, maxParticipantes] o vacía
+     */
+    @Query("SELECT g.idGrupo, v.destinoPrincipal, v.imagenDestacada, g.participantesAceptados, g.maxParticipantes " +
+           "FROM GrupoViaje g JOIN g.viaje v WHERE g.idGrupo = :idGrupo")
+    List<Object[]> findDatosTendenciaById(@Param("idGrupo") Long idGrupo);
+}
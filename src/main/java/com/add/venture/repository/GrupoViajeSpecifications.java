@@ -0,0 +1,239 @@
+package com.add.venture.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.add.venture.dto.FiltroBusquedaGruposDTO;
+import com.add.venture.model.Etiqueta;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.Viaje;
+import com.add.venture.util.CursorGrupos;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Criterios reutilizables para construir la búsqueda de grupos de forma dinámica.
+ * Cada filtro solo agrega el join que necesita y el join con Viaje se comparte
+ * entre todos los filtros (y con la carga de la tarjeta) para no duplicarlo.
+ */
+public final class GrupoViajeSpecifications {
+
+    private GrupoViajeSpecifications() {
+    }
+
+    /**
+     * Construye la especificación completa a partir de los filtros de búsqueda.
+     * Siempre incluye estado "activo" y cupo disponible.
+     *
+     * @param filtro los filtros (puede ser null)
+     * @return la especificación combinada
+     */
+    public static Specification<GrupoViaje> desdeFiltro(FiltroBusquedaGruposDTO filtro) {
+        Specification<GrupoViaje> spec = Specification.where(cargarTarjeta())
+                .and(conEstado("activo"))
+                .and(conCupo());
+
+        if (filtro == null) {
+            return spec;
+        }
+
+        if (filtro.getDestino() != null && !filtro.getDestino().isBlank()) {
+            spec = spec.and(destinoContiene(filtro.getDestino().trim()));
+        }
+
+        // Con ambas fechas se buscan viajes que se solapen con el rango
+        if (filtro.getFechaInicio() != null && filtro.getFechaFin() != null) {
+            spec = spec.and(seSolapaCon(filtro.getFechaInicio(), filtro.getFechaFin()));
+        } else if (filtro.getFechaInicio() != null) {
+            spec = spec.and(iniciaDesde(filtro.getFechaInicio()));
+        } else if (filtro.getFechaFin() != null) {
+            spec = spec.and(terminaHasta(filtro.getFechaFin()));
+        }
+
+        if (filtro.getEdadMin() != null || filtro.getEdadMax() != null) {
+            spec = spec.and(rangoEdadCompatible(filtro.getEdadMin(), filtro.getEdadMax()));
+        }
+
+        if (Boolean.TRUE.equals(filtro.getVerificado())) {
+            spec = spec.and(verificado());
+        }
+
+        if (filtro.getEtiquetas() != null && !filtro.getEtiquetas().isEmpty()) {
+            spec = spec.and(conAlgunaEtiqueta(filtro.getEtiquetas()));
+        }
+
+        return spec;
+    }
+
+    /**
+     * Carga viaje y creador junto con el grupo, como el plan "card" de GrupoViaje
+     * (solo en la consulta de datos, no en el conteo)
+     */
+    public static Specification<GrupoViaje> cargarTarjeta() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("viaje", JoinType.LEFT);
+                root.fetch("creador", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<GrupoViaje> conEstado(String estado) {
+        return (root, query, cb) -> cb.equal(root.get("estado"), estado);
+    }
+
+    /**
+     * Grupos con cupo disponible (aceptados + creador < máximo)
+     */
+    public static Specification<GrupoViaje> conCupo() {
+        return (root, query, cb) -> cb.lessThan(
+                cb.sum(root.<Integer>get("participantesAceptados"), 1),
+                root.<Integer>get("maxParticipantes"));
+    }
+
+    public static Specification<GrupoViaje> destinoContiene(String destino) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(joinViaje(root).get("destinoPrincipal")),
+                "%" + destino.toLowerCase() + "%");
+    }
+
+    /**
+     * Grupos cuyo ID está en la lista (resultado del índice de destinos)
+     */
+    public static Specification<GrupoViaje> idEn(List<Long> idsGrupos) {
+        return (root, query, cb) -> root.get("idGrupo").in(idsGrupos);
+    }
+
+    /**
+     * Viajes que se solapan con el rango especificado
+     */
+    public static Specification<GrupoViaje> seSolapaCon(LocalDate fechaInicio, LocalDate fechaFin) {
+        return (root, query, cb) -> {
+            Join<GrupoViaje, Viaje> viaje = joinViaje(root);
+            return cb.and(
+                    cb.lessThanOrEqualTo(viaje.get("fechaInicio"), fechaFin),
+                    cb.greaterThanOrEqualTo(viaje.get("fechaFin"), fechaInicio));
+        };
+    }
+
+    public static Specification<GrupoViaje> iniciaDesde(LocalDate fechaInicio) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(joinViaje(root).get("fechaInicio"), fechaInicio);
+    }
+
+    public static Specification<GrupoViaje> terminaHasta(LocalDate fechaFin) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(joinViaje(root).get("fechaFin"), fechaFin);
+    }
+
+    /**
+     * Grupos cuyo rango de edad se solapa con el buscado
+     */
+    public static Specification<GrupoViaje> rangoEdadCompatible(Integer edadMin, Integer edadMax) {
+        return (root, query, cb) -> {
+            Join<GrupoViaje, Viaje> viaje = joinViaje(root);
+            if (edadMin != null && edadMax != null) {
+                return cb.and(
+                        cb.lessThanOrEqualTo(viaje.get("rangoEdadMin"), edadMax),
+                        cb.greaterThanOrEqualTo(viaje.get("rangoEdadMax"), edadMin));
+            }
+            if (edadMin != null) {
+                return cb.greaterThanOrEqualTo(viaje.get("rangoEdadMax"), edadMin);
+            }
+            return cb.lessThanOrEqualTo(viaje.get("rangoEdadMin"), edadMax);
+        };
+    }
+
+    public static Specification<GrupoViaje> verificado() {
+        return (root, query, cb) -> cb.isTrue(joinViaje(root).get("esVerificado"));
+    }
+
+    /**
+     * Grupos que tienen al menos una de las etiquetas (sin distinguir mayúsculas).
+     * Se usa EXISTS para no duplicar filas ni afectar la paginación.
+     */
+    public static Specification<GrupoViaje> conAlgunaEtiqueta(List<String> etiquetas) {
+        List<String> nombres = etiquetas.stream()
+                .filter(e -> e != null && !e.isBlank())
+                .map(e -> e.trim().toLowerCase())
+                .collect(Collectors.toList());
+
+        return (root, query, cb) -> {
+            if (nombres.isEmpty()) {
+                return null;
+            }
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<GrupoViaje> grupo = sub.from(GrupoViaje.class);
+            Join<GrupoViaje, Etiqueta> etiqueta = grupo.join("etiquetas");
+            sub.select(grupo.get("idGrupo"))
+                    .where(cb.equal(grupo.get("idGrupo"), root.get("idGrupo")),
+                            cb.lower(etiqueta.get("nombreEtiqueta")).in(nombres));
+            return cb.exists(sub);
+        };
+    }
+
+    /**
+     * Paginación por keyset: grupos que van después del cursor según su orden
+     * (clave de orden y luego idGrupo, ambas en el mismo sentido). Las claves nulas
+     * se ubican donde las pone MySQL: al principio en ascendente y al final en descendente.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static Specification<GrupoViaje> despuesDe(CursorGrupos cursor) {
+        return (root, query, cb) -> {
+            CursorGrupos.Orden orden = cursor.getOrden();
+            Path<Comparable> campo = orden.getCampo().startsWith("viaje.")
+                    ? joinViaje(root).get(orden.getCampo().substring("viaje.".length()))
+                    : root.get(orden.getCampo());
+            Comparable valor = cursor.getValor();
+            Path<Long> id = root.get("idGrupo");
+
+            // En MySQL los nulos van primero en orden ascendente y al final en descendente
+            if (valor == null) {
+                if (orden.isDescendente()) {
+                    // Solo quedan los nulos restantes
+                    return cb.and(cb.isNull(campo), cb.lessThan(id, cursor.getIdGrupo()));
+                }
+                // Siguen el resto de nulos y luego todos los no nulos
+                return cb.or(
+                        cb.isNotNull(campo),
+                        cb.and(cb.isNull(campo), cb.greaterThan(id, cursor.getIdGrupo())));
+            }
+
+            if (orden.isDescendente()) {
+                // Los nulos van después de todos los no nulos
+                return cb.or(
+                        cb.lessThan(campo, valor),
+                        cb.and(cb.equal(campo, valor), cb.lessThan(id, cursor.getIdGrupo())),
+                        cb.isNull(campo));
+            }
+            return cb.or(
+                    cb.greaterThan(campo, valor),
+                    cb.and(cb.equal(campo, valor), cb.greaterThan(id, cursor.getIdGrupo())));
+        };
+    }
+
+    /**
+     * Reutiliza el join (o fetch) con Viaje si ya existe en la consulta
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<GrupoViaje, Viaje> joinViaje(Root<GrupoViaje> root) {
+        for (Fetch<GrupoViaje, ?> fetch : root.getFetches()) {
+            if ("viaje".equals(fetch.getAttribute().getName()) && fetch instanceof Join) {
+                return (Join<GrupoViaje, Viaje>) fetch;
+            }
+        }
+        for (Join<GrupoViaje, ?> join : root.getJoins()) {
+            if ("viaje".equals(join.getAttribute().getName())) {
+                return (Join<GrupoViaje, Viaje>) join;
+            }
+        }
+        return root.join("viaje");
+    }
+}
@@ -1,8 +1,12 @@
 package com.add.venture.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.MensajeGrupo;
@@ -16,6 +20,33 @@ public interface MensajeGrupoRepository extends JpaRepository<MensajeGrupo, Long
      * @return lista de mensajes del grupo
      */
     List<MensajeGrupo> findByGrupoOrderByFechaEnvioAsc(GrupoViaje grupo);
+
+    /**
+     * Mensajes más recientes de un grupo (del más nuevo al más antiguo), con su remitente.
+     * Recorre el índice (id_grupo, fecha_envio, id_mensaje) desde el final.
+     * 
+     * @param grupo el grupo cuyos mensajes se buscan
+     * @param pageable cantidad de mensajes (solo se usa el tamaño)
+     * @return lista de mensajes en orden descendente
+     */
+    @Query("SELECT m FROM MensajeGrupo m JOIN FETCH m.remitente WHERE m.grupo = :grupo " +
+           "ORDER BY m.fechaEnvio DESC, m.idMensaje DESC")
+    List<MensajeGrupo> findRecientes(@Param("grupo") GrupoViaje grupo, Pageable pageable);
+
+    /**
+     * Mensajes de un grupo anteriores a la posición (fecha, id) indicada, del más nuevo al más antiguo
+     * 
+     * @param grupo el grupo cuyos mensajes se buscan
+     * @param fecha fecha de envío del mensaje más antiguo ya entregado
+     * @param idMensaje ID del mensaje más antiguo ya entregado
+     * @param pageable cantidad de mensajes (solo se usa el tamaño)
+     * @return lista de mensajes en orden descendente
+     */
+    @Query("SELECT m FROM MensajeGrupo m JOIN FETCH m.remitente WHERE m.grupo = :grupo " +
+           "AND (m.fechaEnvio < :fecha OR (m.fechaEnvio = :fecha AND m.idMensaje < :idMensaje)) " +
+           "ORDER BY m.fechaEnvio DESC, m.idMensaje DESC")
+    List<MensajeGrupo> findAnteriores(@Param("grupo") GrupoViaje grupo, @Param("fecha") LocalDateTime fecha,
+            @Param("idMensaje") Long idMensaje, Pageable pageable);
     
     /**
      * Busca mensajes de un grupo por tipo específico ordenados por fecha descendente
@@ -25,4 +56,16 @@ public interface MensajeGrupoRepository extends JpaRepository<MensajeGrupo, Long
      * @return lista de mensajes del tipo especificado
      */
     List<MensajeGrupo> findByGrupoAndTipoMensajeOrderByFechaEnvioDesc(GrupoViaje grupo, String tipoMensaje);
-}
\ No newline at end of file
+
+    /**
+     * Cuenta los mensajes por grupo y día desde una fecha (grupos con el estado indicado)
+     * 
+     * @param estado el estado de los grupos
+     * @param desde fecha mínima del mensaje
+     * @return filas [idGrupo, dia (LocalDate), cantidad]
+     */
+    @Query("SELECT m.grupo.idGrupo, CAST(m.fechaEnvio AS LocalDate), COUNT(m) FROM MensajeGrupo m " +
+           "WHERE m.grupo.estado = :estado AND m.fechaEnvio >= :desde " +
+           "GROUP BY m.grupo.idGrupo, CAST(m.fechaEnvio AS LocalDate)")
+    List<Object[]> contarMensajesPorDia(@Param("estado") String estado, @Param("desde") LocalDateTime desde);
+}
@@ -1,9 +1,14 @@
 package com.add.venture.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.ParticipanteGrupo;
@@ -74,4 +79,59 @@ public interface ParticipanteGrupoRepository extends JpaRepository<ParticipanteG
      * @return lista de participaciones ordenadas por fecha
      */
     List<ParticipanteGrupo> findByUsuarioAndEstadoSolicitudOrderByFechaUnionDesc(Usuario usuario, EstadoSolicitud estadoSolicitud);
-}
\ No newline at end of file
+
+    /**
+     * Busca los participantes de varios grupos por estado, cargando el usuario en la misma consulta
+     * 
+     * @param idsGrupos los IDs de los grupos
+     * @param estado el estado de la solicitud
+     * @return lista de participantes con su usuario inicializado
+     */
+    @Query("SELECT p FROM ParticipanteGrupo p JOIN FETCH p.usuario " +
+           "WHERE p.grupo.idGrupo IN :idsGrupos AND p.estadoSolicitud = :estado")
+    List<ParticipanteGrupo> findConUsuarioByGruposAndEstado(@Param("idsGrupos") Collection<Long> idsGrupos,
+                                                           @Param("estado") EstadoSolicitud estado);
+
+    /**
+     * Cambia el estado de una solicitud solo si todavía no tiene el estado nuevo.
+     * El UPDATE condicional es atómico: si dos líderes aceptan la misma solicitud a la vez,
+     * solo uno de ellos actualiza la fila.
+     * 
+     * @param idUsuario el ID del solicitante
+     * @param idGrupo el ID del grupo
+     * @param nuevo el estado a asignar
+     * @return 1 si se cambió el estado, 0 si la solicitud ya lo tenía
+     */
+    @Modifying
+    @Query("UPDATE ParticipanteGrupo p SET p.estadoSolicitud = :nuevo " +
+           "WHERE p.usuario.idUsuario = :idUsuario AND p.grupo.idGrupo = :idGrupo AND p.estadoSolicitud <> :nuevo")
+    int cambiarEstadoSiDistinto(@Param("idUsuario") Long idUsuario, @Param("idGrupo") Long idGrupo,
+                                @Param("nuevo") EstadoSolicitud nuevo);
+
+    /**
+     * Cambia el estado de una solicitud solo si tiene el estado esperado
+     * 
+     * @param idUsuario el ID del solicitante
+     * @param idGrupo el ID del grupo
+     * @param esperado el estado que debe tener la solicitud
+     * @param nuevo el estado a asignar
+     * @return 1 si se cambió el estado, 0 si la solicitud tenía otro estado
+     */
+    @Modifying
+    @Query("UPDATE ParticipanteGrupo p SET p.estadoSolicitud = :nuevo " +
+           "WHERE p.usuario.idUsuario = :idUsuario AND p.grupo.idGrupo = :idGrupo AND p.estadoSolicitud = :esperado")
+    int cambiarEstadoSiEs(@Param("idUsuario") Long idUsuario, @Param("idGrupo") Long idGrupo,
+                          @Param("esperado") EstadoSolicitud esperado, @Param("nuevo") EstadoSolicitud nuevo);
+
+    /**
+     * Cuenta las solicitudes de unión por grupo y día desde una fecha (grupos con el estado indicado)
+     * 
+     * @param estado el estado de los grupos
+     * @param desde fecha mínima de la solicitud
+     * @return filas [idGrupo, dia (LocalDate), cantidad]
+     */
+    @Query("SELECT p.grupo.idGrupo, CAST(p.fechaUnion AS LocalDate), COUNT(p) FROM ParticipanteGrupo p " +
+           "WHERE p.grupo.estado = :estado AND p.fechaUnion >= :desde " +
+           "GROUP BY p.grupo.idGrupo, CAST(p.fechaUnion AS LocalDate)")
+    List<Object[]> contarSolicitudesPorDia(@Param("estado") String estado, @Param("desde") LocalDateTime desde);
+}
@@ -0,0 +1,34 @@
+package com.add.venture.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.add.venture.model.RefreshToken;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Busca el token por su hash junto con el usuario (para emitir el nuevo access token)
+    @EntityGraph(attributePaths = "usuario")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Marca el token como usado; devuelve 0 si otra petición ya lo había rotado
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revocado = true WHERE r.idRefreshToken = :id AND r.revocado = false")
+    int marcarRevocado(@Param("id") Long idRefreshToken);
+
+    // Revoca todos los tokens de una familia (reutilización detectada o cierre de sesión)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revocado = true WHERE r.familia = :familia AND r.revocado = false")
+    int revocarFamilia(@Param("familia") String familia);
+
+    // Elimina los tokens vencidos
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.fechaExpiracion < :fecha")
+    int eliminarExpiradosAntesDe(@Param("fecha") LocalDateTime fecha);
+}
@@ -1,5 +1,6 @@
 package com.add.venture.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -122,4 +123,15 @@ public interface ResenaRepository extends JpaRepository<Resena, Long> {
      */
     @Query("SELECT COUNT(DISTINCT r.grupo) FROM Resena r WHERE r.destinatario = :destinatario")
     long countDistinctGruposByDestinatario(@Param("destinatario") Usuario destinatario);
-} 
\ No newline at end of file
+
+    /**
+     * Suma las calificaciones recibidas por destino y día desde una fecha
+     * 
+     * @param desde fecha mínima de la reseña
+     * @return filas [destinoPrincipal, dia (LocalDate), suma de calificaciones]
+     */
+    @Query("SELECT v.destinoPrincipal, CAST(r.fecha AS LocalDate), SUM(r.calificacion) FROM Resena r " +
+           "JOIN r.grupo g JOIN g.viaje v WHERE r.fecha >= :desde " +
+           "GROUP BY v.destinoPrincipal, CAST(r.fecha AS LocalDate)")
+    List<Object[]> sumarCalificacionesPorDestinoYDia(@Param("desde") LocalDateTime desde);
+}
@@ -22,6 +22,9 @@ public interface RolRepository extends JpaRepository<Rol, Long> {
     @Query("SELECT r FROM Rol r WHERE r.nivelJerarquia >= :nivel AND r.estado = 'activo'")
     List<Rol> findRolesConNivelMenorOIgual(@Param("nivel") Integer nivel);
     
+    @Query("SELECT DISTINCT r FROM Rol r LEFT JOIN FETCH r.permisos")
+    List<Rol> findAllConPermisos();
+    
     @Query("SELECT r FROM Rol r WHERE r.nombreRol IN :nombres AND r.estado = 'activo'")
     List<Rol> findByNombresRol(@Param("nombres") List<String> nombres);
 } 
\ No newline at end of file
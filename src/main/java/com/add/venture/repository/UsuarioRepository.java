@@ -1,8 +1,10 @@
 package com.add.venture.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.add.venture.model.Usuario;
 
@@ -28,4 +30,8 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     // Método para verificar si un nombre de usuario existe, excepto el del usuario actual
     boolean existsByNombreUsuarioAndEmailNot(String nombreUsuario, String email);
+
+    // Emails de las cuentas desactivadas o bloqueadas (para rechazar sus tokens JWT)
+    @Query("SELECT u.email FROM Usuario u WHERE u.estado <> 'activo' OR u.estadoCuenta <> 'activa'")
+    List<String> findEmailsCuentasNoActivas();
 }
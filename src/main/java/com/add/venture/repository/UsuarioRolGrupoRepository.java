@@ -31,6 +31,10 @@ public interface UsuarioRolGrupoRepository extends JpaRepository<UsuarioRolGrupo
     @Query("SELECT urg FROM UsuarioRolGrupo urg WHERE urg.usuario = :usuario AND urg.grupo = :grupo AND urg.estado = 'activo'")
     Optional<UsuarioRolGrupo> findActiveByUsuarioAndGrupo(@Param("usuario") Usuario usuario, @Param("grupo") GrupoViaje grupo);
     
+    @Query("SELECT urg.rol.idRol FROM UsuarioRolGrupo urg WHERE urg.usuario.idUsuario = :idUsuario " +
+           "AND urg.grupo.idGrupo = :idGrupo AND urg.estado = 'activo'")
+    Optional<Long> findIdRolActivo(@Param("idUsuario") Long idUsuario, @Param("idGrupo") Long idGrupo);
+    
     @Query("SELECT urg FROM UsuarioRolGrupo urg WHERE urg.grupo = :grupo AND urg.estado = 'activo'")
     List<UsuarioRolGrupo> findActiveByGrupo(@Param("grupo") GrupoViaje grupo);
     
@@ -3,6 +3,7 @@ package com.add.venture.repository;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.add.venture.model.Viaje;
 
 public interface ViajeRepository extends JpaRepository<Viaje, Long> {
@@ -14,4 +15,13 @@ public interface ViajeRepository extends JpaRepository<Viaje, Long> {
      */
     @Query("SELECT v FROM Viaje v WHERE v.grupo IS NULL")
     List<Viaje> findViajesSinGrupo();
+
+    /**
+     * Obtiene el destino principal de cada viaje cuyo grupo tiene el estado indicado
+     * 
+     * @param estado el estado del grupo
+     * @return filas [idGrupo, destinoPrincipal]
+     */
+    @Query("SELECT g.idGrupo, v.destinoPrincipal FROM Viaje v JOIN v.grupo g WHERE g.estado = :estado")
+    List<Object[]> findDestinosByEstadoGrupo(@Param("estado") String estado);
 }
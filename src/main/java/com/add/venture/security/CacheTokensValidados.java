@@ -0,0 +1,155 @@
+package com.add.venture.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.add.venture.util.HashUtils;
+
+/**
+ * Caché acotada (LRU) de tokens JWT ya verificados, compartida por el filtro HTTP
+ * y el CONNECT de WebSocket. Los clientes móviles reconectan seguido con el mismo
+ * token: con la caché solo se verifica la firma la primera vez.
+ *
+ * La clave es el hash SHA-256 del token (no se guarda el token) y cada entrada
+ * vive hasta la expiración del token, con un máximo de TTL_MAX_MS.
+ * En cada acierto se consulta CuentasRevocadas: si la cuenta se desactivó o la
+ * sesión se cerró, la entrada se expulsa y el token se rechaza.
+ */
+@Component
+public class CacheTokensValidados {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTokensValidados.class);
+
+    private static final int MAX_ENTRADAS = 10000;
+
+    // Tiempo máximo que se reutiliza una verificación (30 minutos)
+    private static final long TTL_MAX_MS = 30 * 60 * 1000;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CuentasRevocadas cuentasRevocadas;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong expulsiones = new AtomicLong();
+
+    private final Map<String, Entrada> tokens = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+            if (size() > MAX_ENTRADAS) {
+                expulsiones.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Obtiene la autenticación del token, verificándolo solo si no está en caché
+     *
+     * @param token el JWT recibido
+     * @return la autenticación (sin detalles de la petición), o null si el token
+     *         no es válido, expiró o la cuenta está revocada
+     */
+    public UsernamePasswordAuthenticationToken autenticar(String token) {
+        String clave = HashUtils.sha256Hex(token);
+        long ahora = System.currentTimeMillis();
+
+        Entrada entrada;
+        synchronized (tokens) {
+            entrada = tokens.get(clave);
+        }
+
+        if (entrada != null) {
+            if (entrada.venceEn > ahora && !estaRevocado(entrada.autenticacion.getName(), entrada.sesion)) {
+                aciertos.incrementAndGet();
+                return entrada.autenticacion;
+            }
+            quitar(clave);
+        }
+        fallos.incrementAndGet();
+
+        TokenJwt parseado;
+        try {
+            parseado = jwtService.parsear(token);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (parseado.getSubject() == null || estaRevocado(parseado.getSubject(), parseado.getSesion())) {
+            return null;
+        }
+
+        UserDetails principal = jwtService.construirPrincipal(parseado);
+        UsernamePasswordAuthenticationToken autenticacion =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        long venceEn = ahora + TTL_MAX_MS;
+        if (parseado.getExpiraEn() != null) {
+            venceEn = Math.min(venceEn, parseado.getExpiraEn().getTime());
+        }
+        synchronized (tokens) {
+            tokens.put(clave, new Entrada(autenticacion, parseado.getSesion(), venceEn));
+        }
+        return autenticacion;
+    }
+
+    /**
+     * Estadísticas de uso de la caché
+     */
+    public Map<String, Long> estadisticas() {
+        int tamano;
+        synchronized (tokens) {
+            tamano = tokens.size();
+        }
+        return Map.of(
+                "tamano", (long) tamano,
+                "aciertos", aciertos.get(),
+                "fallos", fallos.get(),
+                "expulsiones", expulsiones.get());
+    }
+
+    /**
+     * Limpia las entradas vencidas y registra las estadísticas
+     */
+    @Scheduled(fixedDelay = 600000) // Cada 10 minutos
+    public void limpiar() {
+        long ahora = System.currentTimeMillis();
+        synchronized (tokens) {
+            tokens.values().removeIf(entrada -> entrada.venceEn <= ahora);
+        }
+        logger.info("Caché de tokens: {}", estadisticas());
+    }
+
+    private boolean estaRevocado(String email, String sesion) {
+        return cuentasRevocadas.estaRevocada(email) || cuentasRevocadas.sesionRevocada(sesion);
+    }
+
+    private void quitar(String clave) {
+        synchronized (tokens) {
+            tokens.remove(clave);
+        }
+    }
+
+    private static final class Entrada {
+        private final UsernamePasswordAuthenticationToken autenticacion;
+        private final String sesion;
+        private final long venceEn;
+
+        Entrada(UsernamePasswordAuthenticationToken autenticacion, String sesion, long venceEn) {
+            this.autenticacion = autenticacion;
+            this.sesion = sesion;
+            this.venceEn = venceEn;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.add.venture.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.Usuario;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.repository.UsuarioRepository;
+
+/**
+ * Memoriza durante la petición HTTP las búsquedas del usuario autenticado y de los grupos,
+ * para que el filtro JWT, los controladores, los helpers de Thymeleaf y el navbar
+ * no repitan la misma consulta.
+ *
+ * Los valores se guardan como atributos de la petición, así que se descartan al terminar.
+ * Fuera de una petición (tareas programadas, WebSocket) se consulta directamente.
+ * Solo se memorizan resultados encontrados: un "no existe" se vuelve a consultar.
+ */
+@Component
+public class ContextoUsuarioActual {
+
+    private static final String ATRIBUTO_USUARIOS = ContextoUsuarioActual.class.getName() + ".usuarios";
+    private static final String ATRIBUTO_GRUPOS = ContextoUsuarioActual.class.getName() + ".grupos";
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    /**
+     * Obtiene el usuario autenticado en la petición actual
+     *
+     * @return el usuario, o null si no hay sesión o no existe
+     */
+    public Usuario obtenerUsuario() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            return null;
+        }
+        return buscarPorIdentificador(auth.getName());
+    }
+
+    /**
+     * Busca un usuario por email o, si no existe, por teléfono (como en el login)
+     */
+    public Usuario buscarPorIdentificador(String identificador) {
+        if (identificador == null) {
+            return null;
+        }
+        return memorizar(ATRIBUTO_USUARIOS, identificador, id -> usuarioRepository.findByEmail(id)
+                .orElseGet(() -> usuarioRepository.findByTelefono(id).orElse(null)));
+    }
+
+    /**
+     * Busca un usuario por email
+     */
+    public Usuario buscarPorEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        Usuario usuario = memorizar(ATRIBUTO_USUARIOS, email, id -> usuarioRepository.findByEmail(id).orElse(null));
+        // Una entrada guardada por teléfono puede corresponder a otro usuario
+        return usuario != null && email.equals(usuario.getEmail()) ? usuario : null;
+    }
+
+    /**
+     * Obtiene un grupo por su ID
+     *
+     * @return el grupo, o null si no existe
+     */
+    public GrupoViaje obtenerGrupo(Long idGrupo) {
+        if (idGrupo == null) {
+            return null;
+        }
+        return memorizar(ATRIBUTO_GRUPOS, idGrupo, id -> grupoViajeRepository.findById(id).orElse(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> V memorizar(String atributo, K clave, Function<K, V> consulta) {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion == null) {
+            return consulta.apply(clave);
+        }
+
+        Map<K, V> valores = (Map<K, V>) peticion.getAttribute(atributo, RequestAttributes.SCOPE_REQUEST);
+        if (valores == null) {
+            valores = new HashMap<>();
+            peticion.setAttribute(atributo, valores, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        V valor = valores.get(clave);
+        if (valor == null) {
+            valor = consulta.apply(clave);
+            if (valor != null) {
+                valores.put(clave, valor);
+            }
+        }
+        return valor;
+    }
+}
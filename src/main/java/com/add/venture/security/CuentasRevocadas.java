@@ -0,0 +1,82 @@
+package com.add.venture.security;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.add.venture.repository.UsuarioRepository;
+
+/**
+ * Cuentas desactivadas o bloqueadas cuyos tokens JWT se deben rechazar.
+ * Reemplaza la lectura de la tabla de usuarios en cada petición autenticada:
+ * se carga al iniciar y se recarga cada minuto (son pocas cuentas).
+ * La aplicación no desactiva cuentas; un cambio de estado hecho en la base de datos
+ * tarda como máximo un minuto en rechazar los tokens de esa cuenta.
+ *
+ * También guarda las sesiones (familias de refresh token) cerradas o comprometidas,
+ * solo mientras sus access tokens puedan seguir vigentes.
+ */
+@Component
+public class CuentasRevocadas {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentasRevocadas.class);
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${jwt.expiration:900000}")
+    private long jwtExpiration;
+
+    // Se reemplaza completo al recargar
+    private volatile Set<String> revocadas = ConcurrentHashMap.newKeySet();
+
+    // Sesión -> momento de la revocación (ms)
+    private final Map<String, Long> sesionesRevocadas = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000) // Cada minuto
+    public void recargar() {
+        // Pasada la duración de un access token ya no queda ninguno vigente de esas sesiones
+        long limite = System.currentTimeMillis() - jwtExpiration;
+        sesionesRevocadas.values().removeIf(revocadaEn -> revocadaEn < limite);
+
+        try {
+            Set<String> nuevas = ConcurrentHashMap.newKeySet();
+            nuevas.addAll(usuarioRepository.findEmailsCuentasNoActivas());
+            revocadas = nuevas;
+        } catch (RuntimeException e) {
+            // Se conserva el conjunto anterior si la base de datos no responde
+            logger.error("Error al recargar las cuentas revocadas", e);
+        }
+    }
+
+    /**
+     * Verifica si los tokens del usuario deben rechazarse
+     */
+    public boolean estaRevocada(String email) {
+        return email != null && revocadas.contains(email);
+    }
+
+    /**
+     * Verifica si la sesión del token fue revocada
+     */
+    public boolean sesionRevocada(String sesion) {
+        return sesion != null && sesionesRevocadas.containsKey(sesion);
+    }
+
+    /**
+     * Rechaza de inmediato los access tokens emitidos para la sesión
+     */
+    public void revocarSesion(String sesion) {
+        sesionesRevocadas.put(sesion, System.currentTimeMillis());
+    }
+}
@@ -1,28 +1,71 @@
 package com.add.venture.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Claims propios: con ellos el filtro arma el usuario autenticado sin consultar la base de datos
+    public static final String CLAIM_ID_USUARIO = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    // Familia del refresh token con el que se emitió (permite revocar la sesión)
+    public static final String CLAIM_SESION = "sid";
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String SECRET_KEY;
 
-    @Value("${jwt.expiration:86400000}") // 24 horas en milisegundos
+    @Value("${jwt.expiration:900000}") // 15 minutos en milisegundos (se renuevan con el refresh token)
     private long jwtExpiration;
 
+    // Se construyen una sola vez: la clave y el parser de JJWT son inmutables y seguros entre hilos
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void inicializar() {
+        signInKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        parser = Jwts.parser().verifyWith(signInKey).build();
+    }
+
+    /**
+     * Verifica la firma y la expiración del token y lo parsea (una sola vez)
+     *
+     * @return el token parseado
+     * @throws io.jsonwebtoken.JwtException si el token no es válido o ya expiró
+     */
+    public TokenJwt parsear(String token) {
+        return new TokenJwt(extractAllClaims(token));
+    }
+
+    /**
+     * Arma el usuario autenticado a partir del token (sin consultar la base de datos).
+     * Los tokens emitidos antes de incluir roles reciben ROLE_USER, el único rol de la aplicación.
+     */
+    public UserDetails construirPrincipal(TokenJwt token) {
+        List<SimpleGrantedAuthority> authorities = token.getRoles().isEmpty()
+                ? List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                : token.getRoles().stream().map(SimpleGrantedAuthority::new).toList();
+        return new User(token.getSubject(), "", authorities);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -36,6 +79,26 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(UserDetails userDetails, Long idUsuario) {
+        return generateToken(userDetails, idUsuario, null);
+    }
+
+    public String generateToken(UserDetails userDetails, Long idUsuario, String sesion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ID_USUARIO, idUsuario);
+        if (sesion != null) {
+            claims.put(CLAIM_SESION, sesion);
+        }
+        return generateToken(claims, userDetails);
+    }
+
+    /**
+     * Duración de los access tokens en milisegundos
+     */
+    public long getJwtExpiration() {
+        return jwtExpiration;
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
@@ -45,39 +108,30 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
         return Jwts
                 .builder()
                 .claims(extraClaims)
+                .claim(CLAIM_ROLES, roles)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        // El parseo ya rechaza tokens expirados; se parsea una sola vez
+        final TokenJwt parseado = parsear(token);
+        return parseado.getSubject().equals(userDetails.getUsername()) && !parseado.estaExpirado();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
-
-    private SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
 }
@@ -0,0 +1,109 @@
+package com.add.venture.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limitador de peticiones en memoria con cubetas de tokens sin bloqueos.
+ *
+ * Cada cubeta es un solo AtomicLong con el "instante teórico de llegada" (algoritmo GCRA,
+ * equivalente a una cubeta de tokens): cada petición lo adelanta un intervalo y se
+ * rechaza si queda más de una ventana por delante del reloj. Se actualiza con CAS,
+ * sin synchronized ni objetos por petición.
+ */
+@Component
+public class LimitadorPeticiones {
+
+    private final ConcurrentHashMap<String, AtomicLong> cubetas = new ConcurrentHashMap<>();
+
+    /**
+     * Consume un token de la cubeta
+     *
+     * @param clave cubeta (regla + usuario o IP)
+     * @param limite tokens por ventana (capacidad de la cubeta)
+     * @param ventanaNanos duración de la ventana en nanosegundos
+     * @return el resultado, con los datos para las cabeceras RateLimit
+     */
+    public Resultado consumir(String clave, int limite, long ventanaNanos) {
+        long intervalo = ventanaNanos / limite;
+        AtomicLong cubeta = cubetas.computeIfAbsent(clave, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long ahora = System.nanoTime();
+            long actual = cubeta.get();
+            long llegada = actual == Long.MIN_VALUE || actual - ahora < 0 ? ahora : actual;
+            long siguiente = llegada + intervalo;
+            long ocupado = siguiente - ahora;
+
+            if (ocupado > ventanaNanos) {
+                // Sin tokens: se debe esperar a que se libere uno
+                long espera = ocupado - ventanaNanos;
+                return new Resultado(false, limite, 0, segundos(llegada - ahora), segundos(espera));
+            }
+            if (cubeta.compareAndSet(actual, siguiente)) {
+                int restantes = (int) ((ventanaNanos - ocupado) / intervalo);
+                return new Resultado(true, limite, restantes, segundos(ocupado), 0);
+            }
+        }
+    }
+
+    /**
+     * Quita las cubetas que ya están llenas (sin uso reciente)
+     */
+    @Scheduled(fixedDelay = 300000) // Cada 5 minutos
+    public void limpiar() {
+        long ahora = System.nanoTime();
+        cubetas.values().removeIf(cubeta -> {
+            long valor = cubeta.get();
+            return valor == Long.MIN_VALUE || valor - ahora < 0;
+        });
+    }
+
+    private static long segundos(long nanos) {
+        // Redondeo hacia arriba: nunca se indica menos espera de la necesaria
+        return Math.max(0, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    /**
+     * Resultado de consumir un token
+     */
+    public static final class Resultado {
+        private final boolean permitido;
+        private final int limite;
+        private final int restantes;
+        private final long reinicioSegundos;
+        private final long reintentarEnSegundos;
+
+        Resultado(boolean permitido, int limite, int restantes, long reinicioSegundos, long reintentarEnSegundos) {
+            this.permitido = permitido;
+            this.limite = limite;
+            this.restantes = restantes;
+            this.reinicioSegundos = reinicioSegundos;
+            this.reintentarEnSegundos = reintentarEnSegundos;
+        }
+
+        public boolean isPermitido() {
+            return permitido;
+        }
+
+        public int getLimite() {
+            return limite;
+        }
+
+        public int getRestantes() {
+            return restantes;
+        }
+
+        // Segundos hasta que la cubeta vuelva a estar llena
+        public long getReinicioSegundos() {
+            return reinicioSegundos;
+        }
+
+        public long getReintentarEnSegundos() {
+            return reintentarEnSegundos;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.add.venture.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.add.venture.config.LimitePeticionesProperties;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica las reglas de limite-peticiones.* antes de llegar al controlador.
+ * Informa el estado con las cabeceras RateLimit-Limit, RateLimit-Remaining y
+ * RateLimit-Reset, y responde 429 con Retry-After cuando se agota la cubeta.
+ */
+@Component
+public class LimitePeticionesInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private LimitePeticionesProperties propiedades;
+
+    @Autowired
+    private LimitadorPeticiones limitador;
+
+    private List<ReglaCompilada> reglas = List.of();
+
+    @PostConstruct
+    void compilarReglas() {
+        List<ReglaCompilada> compiladas = new ArrayList<>();
+        for (LimitePeticionesProperties.Regla regla : propiedades.getReglas()) {
+            if (regla.getRuta() != null && regla.getLimite() > 0 && regla.getVentanaSegundos() > 0) {
+                compiladas.add(new ReglaCompilada(regla, PathPatternParser.defaultInstance.parse(regla.getRuta())));
+            }
+        }
+        reglas = List.copyOf(compiladas);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!propiedades.isHabilitado() || reglas.isEmpty()) {
+            return true;
+        }
+
+        PathContainer ruta = null;
+        for (ReglaCompilada compilada : reglas) {
+            LimitePeticionesProperties.Regla regla = compilada.regla;
+            if (regla.getMetodo() != null && !regla.getMetodo().isBlank()
+                    && !regla.getMetodo().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (ruta == null) {
+                ruta = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (!compilada.patron.matches(ruta)) {
+                continue;
+            }
+
+            LimitadorPeticiones.Resultado resultado = limitador.consumir(
+                    regla.getNombre() + ":" + clave(regla, request),
+                    regla.getLimite(),
+                    TimeUnit.SECONDS.toNanos(regla.getVentanaSegundos()));
+
+            response.setHeader("RateLimit-Limit", String.valueOf(resultado.getLimite()));
+            response.setHeader("RateLimit-Remaining", String.valueOf(resultado.getRestantes()));
+            response.setHeader("RateLimit-Reset", String.valueOf(resultado.getReinicioSegundos()));
+
+            if (!resultado.isPermitido()) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(resultado.getReintentarEnSegundos()));
+                response.setContentType("application/json;charset=UTF-8");
+                response.getWriter().write("{\"error\":\"Demasiadas solicitudes, intenta nuevamente más tarde\"}");
+                return false;
+            }
+            // Solo se aplica la primera regla que coincide
+            return true;
+        }
+        return true;
+    }
+
+    // Usuario autenticado (si la regla es por usuario) o IP del cliente. Con
+    // server.forward-headers-strategy=native, getRemoteAddr() ya devuelve la IP que
+    // informa un proxy de confianza en X-Forwarded-For
+    private String clave(LimitePeticionesProperties.Regla regla, HttpServletRequest request) {
+        if ("usuario".equalsIgnoreCase(regla.getPor())) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
+                return "u:" + auth.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class ReglaCompilada {
+        private final LimitePeticionesProperties.Regla regla;
+        private final PathPattern patron;
+
+        ReglaCompilada(LimitePeticionesProperties.Regla regla, PathPattern patron) {
+            this.regla = regla;
+            this.patron = patron;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.add.venture.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder que ejecuta el hash (BCrypt) en un pool propio y acotado.
+ * Una ráfaga de logins ya no ocupa CPU con todos los hilos de Tomcat: como mucho
+ * hay tantos hashes en paralelo como hilos del pool, y si la cola también está llena
+ * se lanza ServicioSaturadoException de inmediato (en la API, ManejadorServicioSaturado responde 429).
+ */
+public class PasswordEncoderAcotado implements PasswordEncoder {
+
+    // Segundos sugeridos al cliente para reintentar
+    private static final long REINTENTAR_EN_SEGUNDOS = 2;
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordEncoderAcotado(PasswordEncoder delegado, int hilos, int capacidadCola) {
+        this.delegado = delegado;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "bcrypt-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ejecutar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto (Spring lo detecta como método de destrucción)
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T ejecutar(Callable<T> tarea) {
+        try {
+            return executor.submit(tarea).get();
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("Demasiadas solicitudes de autenticación", REINTENTAR_EN_SEGUNDOS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificación de contraseña interrumpida", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.add.venture.security;
+
+/**
+ * Se lanza cuando una operación costosa (como verificar una contraseña) se rechaza
+ * porque su cola está llena. En los controladores REST, ManejadorServicioSaturado responde
+ * 429 con Retry-After; los formularios la capturan y redirigen con un mensaje de error.
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    private final long reintentarEnSegundos;
+
+    public ServicioSaturadoException(String mensaje, long reintentarEnSegundos) {
+        super(mensaje);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
@@ -0,0 +1,68 @@
+package com.add.venture.security;
+
+import java.util.Date;
+import java.util.List;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token JWT ya verificado (firma y expiración) y parseado una sola vez.
+ * Guarda los datos que usan el filtro y el interceptor de WebSocket
+ * para no volver a parsear el token en cada consulta.
+ */
+public final class TokenJwt {
+
+    private final String subject;
+    private final Long idUsuario;
+    private final List<String> roles;
+    private final String sesion;
+    private final Date emitidoEn;
+    private final Date expiraEn;
+
+    TokenJwt(Claims claims) {
+        this.subject = claims.getSubject();
+        Object uid = claims.get(JwtService.CLAIM_ID_USUARIO);
+        this.idUsuario = uid instanceof Number numero ? numero.longValue() : null;
+        Object listaRoles = claims.get(JwtService.CLAIM_ROLES);
+        this.roles = listaRoles instanceof List<?> lista
+                ? lista.stream().map(String::valueOf).toList()
+                : List.of();
+        this.sesion = claims.get(JwtService.CLAIM_SESION, String.class);
+        this.emitidoEn = claims.getIssuedAt();
+        this.expiraEn = claims.getExpiration();
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * ID del usuario, o null en tokens emitidos antes de incluirlo
+     */
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Sesión (familia de refresh token), o null si el token no se emitió con una
+     */
+    public String getSesion() {
+        return sesion;
+    }
+
+    public Date getEmitidoEn() {
+        return emitidoEn;
+    }
+
+    public Date getExpiraEn() {
+        return expiraEn;
+    }
+
+    public boolean estaExpirado() {
+        return expiraEn != null && expiraEn.before(new Date());
+    }
+}
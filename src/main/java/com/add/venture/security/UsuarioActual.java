@@ -0,0 +1,19 @@
+package com.add.venture.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controlador el Usuario autenticado de la petición
+ * (null si no hay sesión). La búsqueda se hace una sola vez por petición.
+ *
+ * Ejemplo: {@code public ResponseEntity<?> listar(@UsuarioActual Usuario usuario)}
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsuarioActual {
+}
@@ -0,0 +1,33 @@
+package com.add.venture.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.add.venture.model.Usuario;
+
+/**
+ * Resuelve los parámetros anotados con @UsuarioActual usando la búsqueda memorizada de la petición
+ */
+@Component
+public class UsuarioActualArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Autowired
+    private ContextoUsuarioActual contextoUsuarioActual;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(UsuarioActual.class)
+                && Usuario.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return contextoUsuarioActual.obtenerUsuario();
+    }
+}
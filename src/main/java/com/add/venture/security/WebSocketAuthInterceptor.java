@@ -9,16 +9,13 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CacheTokensValidados cacheTokensValidados;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -32,22 +29,12 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 String token = authHeader.substring(7);
                 
                 try {
-                    String username = jwtService.extractUsername(token);
+                    // Misma caché que el filtro HTTP: las reconexiones no vuelven a verificar el token
+                    UsernamePasswordAuthenticationToken authentication = cacheTokensValidados.autenticar(token);
                     
-                    if (username != null) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                        
-                        if (jwtService.isTokenValid(token, userDetails)) {
-                            UsernamePasswordAuthenticationToken authentication = 
-                                new UsernamePasswordAuthenticationToken(
-                                    userDetails, 
-                                    null, 
-                                    userDetails.getAuthorities()
-                                );
-                            
-                            SecurityContextHolder.getContext().setAuthentication(authentication);
-                            accessor.setUser(authentication);
-                        }
+                    if (authentication != null) {
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        accessor.setUser(authentication);
                     }
                 } catch (Exception e) {
                     System.err.println("Error authenticating WebSocket: " + e.getMessage());
@@ -0,0 +1,22 @@
+package com.add.venture.service;
+
+/**
+ * Almacén de códigos de verificación de email con vencimiento y límite de intentos.
+ * La implementación se elige con verificacion.almacen: "memoria" (por defecto, una sola
+ * instancia) o "mysql" (compartida entre varias instancias de la aplicación).
+ */
+public interface AlmacenCodigosVerificacion {
+
+    /**
+     * Guarda el código del email (reemplaza el anterior y reinicia los intentos)
+     */
+    void guardar(String email, String codigo);
+
+    /**
+     * Verifica el código. Si es correcto se elimina para no reutilizarlo; si no, cuenta
+     * un intento fallido y al llegar al máximo el código deja de ser válido.
+     *
+     * @return true si el código es correcto y no venció
+     */
+    boolean verificar(String email, String codigo);
+}
@@ -0,0 +1,108 @@
+package com.add.venture.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.add.venture.model.CodigoVerificacion;
+import com.add.venture.repository.CodigoVerificacionRepository;
+import com.add.venture.util.HashUtils;
+
+/**
+ * Códigos de verificación en MySQL, para cuando hay varias instancias de la aplicación
+ * (el código se puede pedir en una y verificar en otra).
+ * El código se guarda como HMAC con un secreto del servidor: un código de 6 dígitos
+ * se podría recuperar de un SHA-256 sin clave probando el millón de combinaciones.
+ */
+@Component
+@ConditionalOnProperty(name = "verificacion.almacen", havingValue = "mysql")
+@Transactional
+public class AlmacenCodigosVerificacionJpa implements AlmacenCodigosVerificacion {
+
+    @Autowired
+    private CodigoVerificacionRepository codigoVerificacionRepository;
+
+    @Value("${verificacion.vigencia-minutos:10}")
+    private long vigenciaMinutos;
+
+    @Value("${verificacion.max-intentos:5}")
+    private int maxIntentos;
+
+    @Value("${verificacion.max-codigos:10000}")
+    private int maxCodigos;
+
+    @Value("${verificacion.secreto:${jwt.secret}}")
+    private String secreto;
+
+    @Override
+    public void guardar(String email, String codigo) {
+        if (!codigoVerificacionRepository.existsById(email)) {
+            limitarPendientes();
+        }
+        // save() reemplaza la fila del email (la clave es el email)
+        codigoVerificacionRepository.save(CodigoVerificacion.builder()
+                .email(email)
+                .codigoHash(HashUtils.hmacSha256Hex(secreto, codigo))
+                .fechaExpiracion(LocalDateTime.now().plusMinutes(vigenciaMinutos))
+                .intentos(0)
+                .build());
+    }
+
+    @Override
+    public boolean verificar(String email, String codigo) {
+        CodigoVerificacion guardado = codigoVerificacionRepository.findParaVerificar(email).orElse(null);
+        if (guardado == null || codigo == null) {
+            return false;
+        }
+        if (guardado.getFechaExpiracion().isBefore(LocalDateTime.now())) {
+            codigoVerificacionRepository.delete(guardado);
+            return false;
+        }
+
+        byte[] esperado = guardado.getCodigoHash().getBytes(StandardCharsets.UTF_8);
+        byte[] recibido = HashUtils.hmacSha256Hex(secreto, codigo).getBytes(StandardCharsets.UTF_8);
+        if (MessageDigest.isEqual(esperado, recibido)) {
+            codigoVerificacionRepository.delete(guardado);
+            return true;
+        }
+
+        guardado.setIntentos(guardado.getIntentos() + 1);
+        if (guardado.getIntentos() >= maxIntentos) {
+            codigoVerificacionRepository.delete(guardado);
+        }
+        return false;
+    }
+
+    /**
+     * Deja lugar para un código nuevo sin superar verificacion.max-codigos, como el almacén
+     * en memoria: primero se quitan los vencidos y, si no alcanza, los más antiguos
+     */
+    private void limitarPendientes() {
+        long pendientes = codigoVerificacionRepository.count();
+        if (pendientes < maxCodigos) {
+            return;
+        }
+        codigoVerificacionRepository.eliminarVencidosAntesDe(LocalDateTime.now());
+        long sobrantes = codigoVerificacionRepository.count() - maxCodigos + 1;
+        if (sobrantes > 0) {
+            codigoVerificacionRepository.deleteAllInBatch(
+                    codigoVerificacionRepository.findMasAntiguos(PageRequest.of(0, (int) sobrantes)));
+        }
+    }
+
+    /**
+     * Elimina los códigos vencidos
+     */
+    @Scheduled(fixedDelay = 600000) // Cada 10 minutos
+    public void limpiar() {
+        codigoVerificacionRepository.eliminarVencidosAntesDe(LocalDateTime.now());
+    }
+}
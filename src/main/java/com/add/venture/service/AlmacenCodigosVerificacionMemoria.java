@@ -0,0 +1,108 @@
+package com.add.venture.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Códigos de verificación en memoria, acotados en cantidad y tiempo.
+ * Como todos los códigos tienen la misma vigencia, el orden de inserción es también
+ * el orden de vencimiento: los vencidos siempre están al principio y se quitan
+ * recorriendo solo esos. Si se supera el máximo se descarta el más antiguo.
+ */
+@Component
+@ConditionalOnProperty(name = "verificacion.almacen", havingValue = "memoria", matchIfMissing = true)
+public class AlmacenCodigosVerificacionMemoria implements AlmacenCodigosVerificacion {
+
+    @Value("${verificacion.vigencia-minutos:10}")
+    private long vigenciaMinutos;
+
+    @Value("${verificacion.max-intentos:5}")
+    private int maxIntentos;
+
+    @Value("${verificacion.max-codigos:10000}")
+    private int maxCodigos;
+
+    private final LinkedHashMap<String, Entrada> codigos = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+            return size() > maxCodigos;
+        }
+    };
+
+    @Override
+    public void guardar(String email, String codigo) {
+        long expiraEn = System.currentTimeMillis() + vigenciaMinutos * 60000;
+        synchronized (codigos) {
+            quitarVencidos();
+            // Se quita antes para que el nuevo código quede al final (orden de vencimiento)
+            codigos.remove(email);
+            codigos.put(email, new Entrada(codigo, expiraEn));
+        }
+    }
+
+    @Override
+    public boolean verificar(String email, String codigo) {
+        synchronized (codigos) {
+            quitarVencidos();
+            Entrada entrada = codigos.get(email);
+            if (entrada == null || codigo == null) {
+                return false;
+            }
+            if (sonIguales(entrada.codigo, codigo)) {
+                codigos.remove(email);
+                return true;
+            }
+            entrada.intentos++;
+            if (entrada.intentos >= maxIntentos) {
+                codigos.remove(email);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Libera la memoria de los códigos vencidos aunque no haya actividad
+     */
+    @Scheduled(fixedDelay = 60000) // Cada minuto
+    public void limpiar() {
+        synchronized (codigos) {
+            quitarVencidos();
+        }
+    }
+
+    // Debe llamarse con el lock tomado
+    private void quitarVencidos() {
+        long ahora = System.currentTimeMillis();
+        Iterator<Entrada> iterador = codigos.values().iterator();
+        while (iterador.hasNext()) {
+            if (iterador.next().expiraEn > ahora) {
+                break;
+            }
+            iterador.remove();
+        }
+    }
+
+    // Comparación en tiempo constante
+    private static boolean sonIguales(String esperado, String recibido) {
+        return MessageDigest.isEqual(esperado.getBytes(StandardCharsets.UTF_8), recibido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Entrada {
+        private final String codigo;
+        private final long expiraEn;
+        private int intentos;
+
+        Entrada(String codigo, long expiraEn) {
+            this.codigo = codigo;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
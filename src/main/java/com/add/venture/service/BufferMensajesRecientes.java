@@ -0,0 +1,315 @@
+package com.add.venture.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.add.venture.dto.MensajeChatDTO;
+import com.add.venture.event.GrupoViajeEvent;
+
+/**
+ * Últimos mensajes de cada grupo en memoria, para abrir el chat sin consultar MySQL.
+ * - cada grupo tiene un buffer circular con sus N mensajes más recientes (ya convertidos a DTO)
+ * - se llena con la primera lectura del historial y luego con cada mensaje enviado
+ * - los grupos se desalojan por LRU cuando se supera el presupuesto de memoria global
+ *   (estimado a partir del tamaño de los textos) o tras un tiempo sin uso
+ *
+ * Si llega un envío o un borrado mientras un buffer se está cargando, la carga se descarta
+ * (podría no incluir el cambio) y el historial se vuelve a pedir a la base de datos.
+ */
+@Component
+public class BufferMensajesRecientes {
+
+    // Tiempo sin lecturas tras el cual se libera el buffer de un grupo (30 minutos)
+    private static final long INACTIVIDAD_MS = 30 * 60 * 1000L;
+
+    // Costo fijo aproximado de un mensaje en memoria (objetos, fechas, referencias)
+    private static final long BYTES_BASE_MENSAJE = 200;
+
+    @Value("${chat.buffer.mensajes-por-grupo:50}")
+    private int capacidad;
+
+    @Value("${chat.buffer.memoria-maxima-kb:16384}")
+    private long memoriaMaximaKb;
+
+    private final LinkedHashMap<Long, BufferGrupo> buffers = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long bytesTotales;
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Lee los mensajes más recientes del grupo
+     *
+     * @param idGrupo el grupo
+     * @param limite cantidad de mensajes pedida
+     * @return los mensajes en orden cronológico, o null si el buffer no alcanza para responder
+     */
+    public Lectura leer(Long idGrupo, int limite) {
+        synchronized (buffers) {
+            BufferGrupo buffer = buffers.get(idGrupo);
+            if (buffer == null || !buffer.listo) {
+                return null;
+            }
+            int disponibles = buffer.mensajes.size();
+            if (disponibles < limite && buffer.hayMas) {
+                return null;
+            }
+            buffer.ultimoAcceso = System.currentTimeMillis();
+
+            int cantidad = Math.min(limite, disponibles);
+            List<MensajeChatDTO> mensajes = new ArrayList<>(cantidad);
+            Iterator<MensajeChatDTO> iterador = buffer.mensajes.iterator();
+            for (int i = 0; i < disponibles - cantidad; i++) {
+                iterador.next();
+            }
+            while (iterador.hasNext()) {
+                mensajes.add(iterador.next());
+            }
+            return new Lectura(mensajes, disponibles > cantidad || buffer.hayMas);
+        }
+    }
+
+    /**
+     * Reserva el buffer del grupo antes de consultar la base de datos
+     *
+     * @return la marca que se debe pasar a completarCarga
+     */
+    public Object iniciarCarga(Long idGrupo) {
+        BufferGrupo buffer = new BufferGrupo();
+        synchronized (buffers) {
+            quitar(idGrupo);
+            buffers.put(idGrupo, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Llena el buffer con el resultado de la consulta, salvo que haya cambiado algo mientras tanto
+     *
+     * @param idGrupo el grupo
+     * @param carga la marca devuelta por iniciarCarga
+     * @param recientes los mensajes más recientes, del más nuevo al más antiguo
+     * @param hayMas si existen mensajes anteriores a los de la lista
+     */
+    public void completarCarga(Long idGrupo, Object carga, List<MensajeChatDTO> recientes, boolean hayMas) {
+        synchronized (buffers) {
+            BufferGrupo buffer = buffers.get(idGrupo);
+            if (buffer != carga) {
+                return;
+            }
+            if (buffer.invalidado) {
+                buffers.remove(idGrupo);
+                return;
+            }
+
+            int cantidad = Math.min(capacidad, recientes.size());
+            for (int i = cantidad - 1; i >= 0; i--) {
+                MensajeChatDTO mensaje = recientes.get(i);
+                buffer.mensajes.addLast(mensaje);
+                buffer.bytes += estimarBytes(mensaje);
+            }
+            buffer.hayMas = hayMas || recientes.size() > cantidad;
+            buffer.listo = true;
+            buffer.ultimoAcceso = System.currentTimeMillis();
+            bytesTotales += buffer.bytes;
+            desalojar();
+        }
+    }
+
+    /**
+     * Agrega un mensaje recién guardado
+     */
+    public void agregar(MensajeChatDTO mensaje) {
+        synchronized (buffers) {
+            BufferGrupo buffer = buffers.get(mensaje.getIdGrupo());
+            if (buffer == null) {
+                return;
+            }
+            if (!buffer.listo) {
+                buffer.invalidado = true;
+                return;
+            }
+            // La carga pudo haber leído ya este mensaje
+            for (MensajeChatDTO existente : buffer.mensajes) {
+                if (existente.getIdMensaje().equals(mensaje.getIdMensaje())) {
+                    return;
+                }
+            }
+
+            insertarEnOrden(buffer, mensaje);
+            long bytes = estimarBytes(mensaje);
+            buffer.bytes += bytes;
+            bytesTotales += bytes;
+
+            while (buffer.mensajes.size() > capacidad) {
+                long liberados = estimarBytes(buffer.mensajes.pollFirst());
+                buffer.bytes -= liberados;
+                bytesTotales -= liberados;
+                buffer.hayMas = true;
+            }
+            desalojar();
+        }
+    }
+
+    /**
+     * Quita un mensaje eliminado
+     */
+    public void eliminar(Long idGrupo, Long idMensaje) {
+        synchronized (buffers) {
+            BufferGrupo buffer = buffers.get(idGrupo);
+            if (buffer == null) {
+                return;
+            }
+            if (!buffer.listo) {
+                buffer.invalidado = true;
+                return;
+            }
+            Iterator<MensajeChatDTO> iterador = buffer.mensajes.iterator();
+            while (iterador.hasNext()) {
+                MensajeChatDTO mensaje = iterador.next();
+                if (mensaje.getIdMensaje().equals(idMensaje)) {
+                    iterador.remove();
+                    long liberados = estimarBytes(mensaje);
+                    buffer.bytes -= liberados;
+                    bytesTotales -= liberados;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta el buffer del grupo (se vuelve a cargar en la próxima lectura)
+     */
+    public void descartar(Long idGrupo) {
+        synchronized (buffers) {
+            quitar(idGrupo);
+        }
+    }
+
+    /**
+     * Descarta el buffer cuando se elimina el grupo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarGrupo(GrupoViajeEvent evento) {
+        if (evento.getTipo() == GrupoViajeEvent.Tipo.ELIMINADO) {
+            descartar(evento.getIdGrupo());
+        }
+    }
+
+    /**
+     * Tarea programada que libera los buffers sin uso
+     */
+    @Scheduled(fixedDelay = 300000) // Cada 5 minutos
+    public void liberarInactivos() {
+        long limite = System.currentTimeMillis() - INACTIVIDAD_MS;
+        synchronized (buffers) {
+            Iterator<BufferGrupo> iterador = buffers.values().iterator();
+            while (iterador.hasNext()) {
+                BufferGrupo buffer = iterador.next();
+                if (buffer.listo && buffer.ultimoAcceso < limite) {
+                    bytesTotales -= buffer.bytes;
+                    iterador.remove();
+                }
+            }
+        }
+    }
+
+    private void insertarEnOrden(BufferGrupo buffer, MensajeChatDTO mensaje) {
+        MensajeChatDTO ultimo = buffer.mensajes.peekLast();
+        if (ultimo == null || !esAnterior(mensaje, ultimo)) {
+            buffer.mensajes.addLast(mensaje);
+            return;
+        }
+        // Envíos concurrentes pueden llegar desordenados: se reubica (es raro y el buffer es chico)
+        List<MensajeChatDTO> ordenados = new ArrayList<>(buffer.mensajes);
+        int posicion = ordenados.size();
+        while (posicion > 0 && esAnterior(mensaje, ordenados.get(posicion - 1))) {
+            posicion--;
+        }
+        ordenados.add(posicion, mensaje);
+        buffer.mensajes.clear();
+        buffer.mensajes.addAll(ordenados);
+    }
+
+    private static boolean esAnterior(MensajeChatDTO a, MensajeChatDTO b) {
+        int comparacion = a.getFechaEnvio().compareTo(b.getFechaEnvio());
+        return comparacion < 0 || (comparacion == 0 && a.getIdMensaje() < b.getIdMensaje());
+    }
+
+    /**
+     * Desaloja los grupos usados hace más tiempo mientras se supere el presupuesto
+     * (el grupo recién usado queda al final y es el último en salir)
+     */
+    private void desalojar() {
+        long maximo = memoriaMaximaKb * 1024;
+        Iterator<BufferGrupo> iterador = buffers.values().iterator();
+        while (bytesTotales > maximo && buffers.size() > 1 && iterador.hasNext()) {
+            BufferGrupo buffer = iterador.next();
+            bytesTotales -= buffer.bytes;
+            iterador.remove();
+        }
+    }
+
+    private void quitar(Long idGrupo) {
+        BufferGrupo anterior = buffers.remove(idGrupo);
+        if (anterior != null) {
+            bytesTotales -= anterior.bytes;
+        }
+    }
+
+    private static long estimarBytes(MensajeChatDTO mensaje) {
+        long caracteres = longitud(mensaje.getMensaje()) + longitud(mensaje.getArchivoUrl())
+                + longitud(mensaje.getArchivoNombre());
+        MensajeChatDTO.RemitenteInfo remitente = mensaje.getRemitente();
+        if (remitente != null) {
+            caracteres += longitud(remitente.getNombre()) + longitud(remitente.getApellidos())
+                    + longitud(remitente.getIniciales()) + longitud(remitente.getFotoPerfil());
+        }
+        return BYTES_BASE_MENSAJE + 2 * caracteres;
+    }
+
+    private static int longitud(String texto) {
+        return texto != null ? texto.length() : 0;
+    }
+
+    private static class BufferGrupo {
+        private final ArrayDeque<MensajeChatDTO> mensajes = new ArrayDeque<>();
+        private boolean hayMas;
+        private boolean listo;
+        private boolean invalidado;
+        private long bytes;
+        private long ultimoAcceso;
+    }
+
+    /**
+     * Resultado de una lectura del buffer
+     */
+    public static class Lectura {
+        private final List<MensajeChatDTO> mensajes;
+        private final boolean hayMas;
+
+        Lectura(List<MensajeChatDTO> mensajes, boolean hayMas) {
+            this.mensajes = mensajes;
+            this.hayMas = hayMas;
+        }
+
+        public List<MensajeChatDTO> getMensajes() {
+            return mensajes;
+        }
+
+        public boolean isHayMas() {
+            return hayMas;
+        }
+    }
+}
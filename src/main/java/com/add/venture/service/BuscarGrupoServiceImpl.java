@@ -1,52 +1,157 @@
 package com.add.venture.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.add.venture.dto.FiltroBusquedaGruposDTO;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.repository.BuscarGrupoRepository;
+import com.add.venture.repository.GrupoViajeSpecifications;
+import com.add.venture.util.CursorGrupos;
 
 @Service
 public class BuscarGrupoServiceImpl implements IBuscarGrupoService {
 
+    // Máximo de IDs del índice que se pasan a la consulta. Con más coincidencias
+    // (consultas de una o dos letras) el destino se filtra con LIKE en la base de datos
+    private static final int MAX_IDS_INDICE = 500;
+
     @Autowired
     private BuscarGrupoRepository buscarGrupoRepository;
 
+    @Autowired
+    private IndiceDestinosService indiceDestinosService;
+
     @Override
     public Page<GrupoViaje> obtenerGrupos(Pageable pageable) {
-        return buscarGrupoRepository.findByEstado("activo", pageable);
+        return buscarGrupos((FiltroBusquedaGruposDTO) null, pageable);
     }
 
     @Override
     public Page<GrupoViaje> buscarGrupos(String destinoPrincipal, LocalDate fechaInicio, LocalDate fechaFin,
             Pageable pageable) {
         
-        String estado = "activo";
+        FiltroBusquedaGruposDTO filtro = FiltroBusquedaGruposDTO.builder()
+                .destino(destinoPrincipal)
+                .fechaInicio(fechaInicio)
+                .fechaFin(fechaFin)
+                .build();
+        return buscarGrupos(filtro, pageable);
+    }
 
-        if (destinoPrincipal != null && !destinoPrincipal.isBlank() && fechaInicio != null && fechaFin != null) {
-            return buscarGrupoRepository.findByDestinoPrincipalContainingIgnoreCaseAndFechaInicioGreaterThanEqualAndFechaFinLessThanEqualAndEstado(
-                destinoPrincipal, fechaInicio, fechaFin, estado, pageable);
-        
-        } else if (destinoPrincipal != null && !destinoPrincipal.isBlank()) {
-            return buscarGrupoRepository.findByDestinoPrincipalContainingIgnoreCaseAndEstado(destinoPrincipal, estado, pageable);
-        
-        } else if (fechaInicio != null && fechaFin != null) {
-            return buscarGrupoRepository.findByFechaInicioGreaterThanEqualAndFechaFinLessThanEqualAndEstado(fechaInicio, fechaFin, estado, pageable);
-        
-        } else if (fechaInicio != null) {
-            return buscarGrupoRepository.findByFechaInicioGreaterThanEqualAndEstado(fechaInicio, estado, pageable);
-        
-        } else if (fechaFin != null) {
-            return buscarGrupoRepository.findByFechaFinLessThanEqualAndEstado(fechaFin, estado, pageable);
-        
-        } else {
-            return buscarGrupoRepository.findByEstado(estado, pageable);
+    @Override
+    public Page<GrupoViaje> buscarGrupos(FiltroBusquedaGruposDTO filtro, Pageable pageable) {
+        List<Long> idsPorDestino = buscarIdsPorDestino(filtro);
+        if (idsPorDestino != null && idsPorDestino.isEmpty()) {
+            return Page.empty(pageable);
         }
-        
+
+        // Sin orden explícito, los resultados de texto salen por relevancia. Son a lo sumo
+        // MAX_IDS_INDICE, así que se cargan en una consulta (sin COUNT) y se pagina en memoria
+        if (idsPorDestino != null && pageable.getSort().isUnsorted()) {
+            List<GrupoViaje> grupos = ordenarSegun(
+                    buscarGrupoRepository.findAll(construirSpec(filtro, idsPorDestino)), idsPorDestino);
+            int desde = (int) Math.min(pageable.getOffset(), grupos.size());
+            int hasta = Math.min(desde + pageable.getPageSize(), grupos.size());
+            return new PageImpl<>(grupos.subList(desde, hasta), pageable, grupos.size());
+        }
+        return buscarGrupoRepository.findAll(construirSpec(filtro, idsPorDestino), pageable);
+    }
+
+    @Override
+    public List<GrupoViaje> buscarGrupos(FiltroBusquedaGruposDTO filtro, Sort orden) {
+        List<Long> idsPorDestino = buscarIdsPorDestino(filtro);
+        if (idsPorDestino != null && idsPorDestino.isEmpty()) {
+            return List.of();
+        }
+        return buscarGrupoRepository.findAll(construirSpec(filtro, idsPorDestino), orden);
     }
-    
+
+    @Override
+    public List<GrupoViaje> buscarGruposPorIds(List<Long> idsGrupos) {
+        if (idsGrupos.isEmpty()) {
+            return List.of();
+        }
+        Specification<GrupoViaje> spec = GrupoViajeSpecifications.desdeFiltro(null)
+                .and(GrupoViajeSpecifications.idEn(idsGrupos));
+        return ordenarSegun(buscarGrupoRepository.findAll(spec), idsGrupos);
+    }
+
+    @Override
+    public List<GrupoViaje> buscarGruposDespuesDe(FiltroBusquedaGruposDTO filtro, CursorGrupos.Orden orden,
+            CursorGrupos cursor, int limite) {
+
+        List<Long> idsPorDestino = buscarIdsPorDestino(filtro);
+        if (idsPorDestino != null && idsPorDestino.isEmpty()) {
+            return List.of();
+        }
+
+        Specification<GrupoViaje> spec = construirSpec(filtro, idsPorDestino);
+        if (cursor != null) {
+            spec = spec.and(GrupoViajeSpecifications.despuesDe(cursor));
+        }
+
+        Sort.Direction direccion = orden.isDescendente() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(new Sort.Order(direccion, orden.getCampo()), new Sort.Order(direccion, "idGrupo"));
+        return buscarGrupoRepository.findBy(spec, q -> q.sortBy(sort).limit(limite).all());
+    }
+
+    @Override
+    public long contarGrupos(FiltroBusquedaGruposDTO filtro) {
+        List<Long> idsPorDestino = buscarIdsPorDestino(filtro);
+        if (idsPorDestino != null && idsPorDestino.isEmpty()) {
+            return 0;
+        }
+        return buscarGrupoRepository.count(construirSpec(filtro, idsPorDestino));
+    }
+
+    /**
+     * Resuelve el filtro de destino con el índice en memoria
+     * 
+     * @return los IDs que coinciden ordenados por relevancia, o null si no hay filtro de destino,
+     *         el índice aún no está listo o hay más de MAX_IDS_INDICE coincidencias
+     */
+    private List<Long> buscarIdsPorDestino(FiltroBusquedaGruposDTO filtro) {
+        if (filtro == null || filtro.getDestino() == null || filtro.getDestino().isBlank()
+                || !indiceDestinosService.estaListo()) {
+            return null;
+        }
+        List<Long> ids = indiceDestinosService.buscar(filtro.getDestino(), MAX_IDS_INDICE + 1);
+        return ids.size() > MAX_IDS_INDICE ? null : ids;
+    }
+
+    /**
+     * Ordena los grupos en memoria según la posición de cada ID en la lista
+     */
+    private List<GrupoViaje> ordenarSegun(List<GrupoViaje> encontrados, List<Long> idsGrupos) {
+        Map<Long, Integer> posiciones = new HashMap<>();
+        for (int i = 0; i < idsGrupos.size(); i++) {
+            posiciones.putIfAbsent(idsGrupos.get(i), i);
+        }
+        List<GrupoViaje> grupos = new ArrayList<>(encontrados);
+        grupos.sort(Comparator.comparing(grupo -> posiciones.get(grupo.getIdGrupo())));
+        return grupos;
+    }
+
+    private Specification<GrupoViaje> construirSpec(FiltroBusquedaGruposDTO filtro, List<Long> idsPorDestino) {
+        if (idsPorDestino == null) {
+            // Sin índice (o demasiadas coincidencias): el filtro de destino se resuelve con LIKE
+            return GrupoViajeSpecifications.desdeFiltro(filtro);
+        }
+        FiltroBusquedaGruposDTO sinDestino = filtro.toBuilder().destino(null).build();
+        return GrupoViajeSpecifications.desdeFiltro(sinDestino).and(GrupoViajeSpecifications.idEn(idsPorDestino));
+    }
+
 }
@@ -0,0 +1,87 @@
+package com.add.venture.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.add.venture.dto.MensajeChatDTO;
+import com.add.venture.event.ActividadGrupoEvent;
+import com.add.venture.model.MensajeGrupo;
+import com.add.venture.repository.MensajeGrupoRepository;
+import com.add.venture.util.IdsTemporales;
+
+/**
+ * Publica los mensajes nuevos del chat: los guarda, los agrega al historial en memoria,
+ * los envía por WebSocket a /topic/grupo/{id} y registra la actividad del grupo.
+ *
+ * Con la escritura diferida activa (chat.escritura-diferida.habilitada=true) el mensaje
+ * recibe un ID ordenado por tiempo, se anota en el diario y se envía de inmediato;
+ * la inserción en MySQL se hace después, por lotes.
+ */
+@Service
+public class CanalMensajesChat {
+
+    // Espera máxima a que se guarden los mensajes pendientes antes de eliminar uno
+    private static final long ESPERA_PENDIENTES_MS = 2000;
+
+    @Autowired
+    private MensajeGrupoRepository mensajeGrupoRepository;
+
+    @Autowired
+    private HistorialChatService historialChatService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private EscrituraDiferidaMensajes escrituraDiferida;
+
+    /**
+     * Publica un mensaje nuevo (grupo y remitente ya asignados)
+     *
+     * @param nuevoMensaje el mensaje sin ID
+     * @return el mensaje tal como se envió a los clientes
+     */
+    public MensajeChatDTO publicar(MensajeGrupo nuevoMensaje) {
+        if (nuevoMensaje.getFechaEnvio() == null) {
+            nuevoMensaje.setFechaEnvio(LocalDateTime.now());
+        }
+
+        MensajeChatDTO mensajeDTO;
+        if (escrituraDiferida != null) {
+            nuevoMensaje.setIdMensaje(IdsTemporales.siguiente());
+            mensajeDTO = MensajeChatDTO.de(nuevoMensaje);
+            escrituraDiferida.encolar(mensajeDTO);
+        } else {
+            mensajeGrupoRepository.save(nuevoMensaje);
+            mensajeDTO = MensajeChatDTO.de(nuevoMensaje);
+        }
+
+        // Se convierte una sola vez para el historial, el WebSocket y la respuesta
+        historialChatService.registrarEnviado(mensajeDTO);
+        messagingTemplate.convertAndSend("/topic/grupo/" + mensajeDTO.getIdGrupo(), mensajeDTO);
+        eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.MENSAJE, mensajeDTO.getIdGrupo()));
+        return mensajeDTO;
+    }
+
+    /**
+     * Espera a que los mensajes publicados estén en la base de datos
+     * (solo con escritura diferida; sirve antes de buscar un mensaje para eliminarlo)
+     */
+    public void esperarEscrituras() {
+        if (escrituraDiferida == null) {
+            return;
+        }
+        try {
+            escrituraDiferida.esperarPendientes(ESPERA_PENDIENTES_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.add.venture.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Permisos efectivos de un usuario en un grupo, resueltos de una sola vez.
+ * Se obtiene con IPermisosService.obtenerCapacidades y permite hacer varias
+ * verificaciones sin volver a resolver el rol (cada una es una prueba de bit).
+ *
+ * Es inmutable: no refleja cambios de rol posteriores a su creación.
+ */
+public final class CapacidadesGrupo {
+
+    private static final CapacidadesGrupo NINGUNA = new CapacidadesGrupo(false, null, null, Map.of(), new BitSet());
+
+    private final boolean creador;
+    private final Long idRol;
+    private final Integer nivel;
+    private final Map<String, Integer> indicePermisos;
+    private final BitSet permisos;
+
+    CapacidadesGrupo(boolean creador, Long idRol, Integer nivel, Map<String, Integer> indicePermisos, BitSet permisos) {
+        this.creador = creador;
+        this.idRol = idRol;
+        this.nivel = nivel;
+        this.indicePermisos = indicePermisos;
+        this.permisos = permisos;
+    }
+
+    /**
+     * Capacidades vacías (usuario o grupo inexistente, sin sesión, etc.)
+     */
+    public static CapacidadesGrupo ninguna() {
+        return NINGUNA;
+    }
+
+    /**
+     * Verifica un permiso (el creador del grupo los tiene todos)
+     */
+    public boolean tiene(String nombrePermiso) {
+        if (creador) {
+            return true;
+        }
+        Integer posicion = indicePermisos.get(nombrePermiso);
+        return posicion != null && permisos.get(posicion);
+    }
+
+    /**
+     * Verifica si tiene al menos uno de los permisos
+     */
+    public boolean tieneAlguno(Collection<String> nombresPermisos) {
+        for (String nombre : nombresPermisos) {
+            if (tiene(nombre)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica si tiene todos los permisos
+     */
+    public boolean tieneTodos(Collection<String> nombresPermisos) {
+        for (String nombre : nombresPermisos) {
+            if (!tiene(nombre)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nombres de los permisos que tiene (ordenados)
+     */
+    public Set<String> nombres() {
+        Set<String> nombres = new TreeSet<>();
+        for (Map.Entry<String, Integer> entrada : indicePermisos.entrySet()) {
+            if (creador || permisos.get(entrada.getValue())) {
+                nombres.add(entrada.getKey());
+            }
+        }
+        return nombres;
+    }
+
+    public boolean isCreador() {
+        return creador;
+    }
+
+    public Long getIdRol() {
+        return idRol;
+    }
+
+    /**
+     * Nivel de jerarquía del rol (menor = más poder), o null si no tiene rol
+     */
+    public Integer getNivel() {
+        return nivel;
+    }
+
+    public boolean tieneRol() {
+        return idRol != null;
+    }
+}
@@ -1,8 +1,6 @@
 package com.add.venture.service;
 
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.security.SecureRandom;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,18 +11,19 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
     @Autowired
     private IEmailService emailService;
 
-    // Almacenamos los códigos temporales en memoria (email -> código)
-    private Map<String, String> verificationCodes = new ConcurrentHashMap<>();
+    // Códigos pendientes, con vencimiento y límite de intentos (en memoria o en MySQL)
+    @Autowired
+    private AlmacenCodigosVerificacion almacenCodigos;
 
-    private Random random = new Random();
+    private final SecureRandom random = new SecureRandom();
 
     @Override
     public void sendVerificationCode(String email) {
         // Generar código de 6 dígitos
-        String code = String.format("%06d", random.nextInt(999999));
+        String code = String.format("%06d", random.nextInt(1000000));
 
         // Guardar el código para el email
-        verificationCodes.put(email, code);
+        almacenCodigos.guardar(email, code);
 
         // Enviar correo con el código usando plantilla HTML
         String subject = "🔐 Código de verificación - AddVenture";
@@ -35,14 +34,8 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
 
     @Override
     public boolean verifyCode(String email, String code) {
-        String storedCode = verificationCodes.get(email);
-
-        if (storedCode != null && storedCode.equals(code)) {
-            // Código correcto: eliminamos para no reutilizar
-            verificationCodes.remove(email);
-            return true;
-        }
-        return false;
+        // Si es correcto el almacén lo elimina para no reutilizarlo
+        return almacenCodigos.verificar(email, code);
     }
 
     private String buildVerificationEmailTemplate(String code, String email) {
@@ -0,0 +1,332 @@
+package com.add.venture.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.add.venture.dto.MensajeChatDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Escritura diferida de los mensajes del chat (chat.escritura-diferida.habilitada=true).
+ * El mensaje se anota en un diario local (con fsync) antes de confirmarlo al cliente,
+ * y un hilo lo inserta en MySQL por lotes: cada intervalo-ms o al juntar tamano-lote mensajes.
+ *
+ * El diario se vacía cuando no quedan mensajes sin guardar. Al iniciar se reinsertan
+ * los mensajes que hayan quedado en él (ON DUPLICATE KEY UPDATE, así que repetir una fila no falla).
+ * Un mensaje que la base de datos rechaza (por ejemplo, de un grupo ya eliminado) se registra
+ * en el log y se descarta, para que no bloquee al resto.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "chat.escritura-diferida.habilitada", havingValue = "true")
+public class EscrituraDiferidaMensajes {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscrituraDiferidaMensajes.class);
+
+    // Solo se toleran las filas repetidas (reintentos y recuperación del diario); cualquier otro
+    // error hace fallar el lote en lugar de convertirse en una advertencia como con INSERT IGNORE
+    private static final String SQL_INSERTAR = "INSERT INTO mensaje_grupo "
+            + "(id_mensaje, id_grupo, id_remitente, mensaje, tipo_mensaje, archivo_url, archivo_nombre, fecha_envio, estado) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'activo') "
+            + "ON DUPLICATE KEY UPDATE id_mensaje = id_mensaje";
+
+    // Espera entre reintentos cuando falla la inserción de un lote
+    private static final long ESPERA_REINTENTO_MS = 1000;
+
+    @Value("${chat.escritura-diferida.diario:data/chat-diario.log}")
+    private String rutaDiario;
+
+    @Value("${chat.escritura-diferida.intervalo-ms:20}")
+    private long intervaloMs;
+
+    @Value("${chat.escritura-diferida.tamano-lote:200}")
+    private int tamanoLote;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BufferMensajesRecientes bufferMensajesRecientes;
+
+    private final LinkedBlockingQueue<MensajeChatDTO> cola = new LinkedBlockingQueue<>();
+
+    // Protege el diario y el contador de mensajes anotados que aún no se guardaron
+    private final Object bloqueoDiario = new Object();
+    private FileChannel diario;
+    private long pendientes;
+
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean activo = true;
+    private Thread escritor;
+
+    /**
+     * Recupera lo que haya quedado en el diario y arranca el hilo de escritura
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Path ruta = Paths.get(rutaDiario).toAbsolutePath();
+        Files.createDirectories(ruta.getParent());
+        diario = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recuperar(ruta);
+
+        escritor = new Thread(this::ejecutar, "chat-escritura-diferida");
+        escritor.setDaemon(true);
+        escritor.start();
+        logger.info("Escritura diferida del chat activa (diario: {}, lote: {}, intervalo: {} ms)",
+                ruta, tamanoLote, intervaloMs);
+    }
+
+    /**
+     * Guarda los mensajes pendientes antes de cerrar (si la base de datos no responde
+     * quedan en el diario y se recuperan al volver a iniciar)
+     */
+    @PreDestroy
+    public void detener() throws IOException, InterruptedException {
+        activo = false;
+        escritor.join(10000);
+        diario.close();
+    }
+
+    /**
+     * Anota el mensaje en el diario y lo deja en cola para guardarlo
+     *
+     * @param mensaje el mensaje, con su ID ya asignado
+     * @throws RuntimeException si no se pudo escribir en el diario (el mensaje no se debe confirmar)
+     */
+    public void encolar(MensajeChatDTO mensaje) {
+        try {
+            ByteBuffer linea = ByteBuffer.wrap(
+                    (objectMapper.writeValueAsString(mensaje) + "\n").getBytes(StandardCharsets.UTF_8));
+            synchronized (bloqueoDiario) {
+                while (linea.hasRemaining()) {
+                    diario.write(linea);
+                }
+                diario.force(false);
+                pendientes++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo registrar el mensaje", e);
+        }
+        cola.add(mensaje);
+    }
+
+    /**
+     * Espera a que se guarden los mensajes pendientes (por ejemplo, antes de eliminar uno)
+     *
+     * @return true si no quedan pendientes, false si se agotó la espera
+     */
+    public boolean esperarPendientes(long esperaMaximaMs) throws InterruptedException {
+        long limite = System.currentTimeMillis() + esperaMaximaMs;
+        synchronized (bloqueoDiario) {
+            while (pendientes > 0) {
+                long espera = limite - System.currentTimeMillis();
+                if (espera <= 0) {
+                    return false;
+                }
+                bloqueoDiario.wait(espera);
+            }
+        }
+        return true;
+    }
+
+    private void ejecutar() {
+        List<MensajeChatDTO> lote = new ArrayList<>(tamanoLote);
+        while (activo || !cola.isEmpty() || !lote.isEmpty()) {
+            try {
+                if (lote.isEmpty()) {
+                    juntarLote(lote);
+                    if (lote.isEmpty()) {
+                        continue;
+                    }
+                }
+                List<MensajeChatDTO> descartados = insertar(lote);
+                confirmar(lote.size());
+                // Completa el buffer de mensajes recientes si se cargó antes de guardar el lote
+                // y quita los mensajes que no se pudieron guardar
+                for (MensajeChatDTO mensaje : lote) {
+                    if (descartados.contains(mensaje)) {
+                        bufferMensajesRecientes.eliminar(mensaje.getIdGrupo(), mensaje.getIdMensaje());
+                    } else {
+                        bufferMensajesRecientes.agregar(mensaje);
+                    }
+                }
+                lote.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // El lote se conserva y se reintenta; los mensajes siguen en el diario
+                logger.error("Error al guardar {} mensajes del chat, se reintentará", lote.size(), e);
+                if (!activo) {
+                    return;
+                }
+                try {
+                    Thread.sleep(ESPERA_REINTENTO_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Espera el primer mensaje y luego junta los que lleguen durante el intervalo
+     * (o hasta completar el lote)
+     */
+    private void juntarLote(List<MensajeChatDTO> lote) throws InterruptedException {
+        MensajeChatDTO primero = cola.poll(100, TimeUnit.MILLISECONDS);
+        if (primero == null) {
+            return;
+        }
+        lote.add(primero);
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        while (lote.size() < tamanoLote) {
+            long espera = limite - System.nanoTime();
+            MensajeChatDTO siguiente = espera > 0 ? cola.poll(espera, TimeUnit.NANOSECONDS) : cola.poll();
+            if (siguiente == null) {
+                return;
+            }
+            lote.add(siguiente);
+        }
+    }
+
+    /**
+     * Inserta el lote en una transacción. Si una fila viola una restricción, el lote completo
+     * fallaría en cada reintento, así que se vuelve a insertar mensaje por mensaje y se
+     * descartan solo los rechazados. Los errores de conexión se propagan para reintentar.
+     *
+     * @return los mensajes que no se guardaron
+     */
+    private List<MensajeChatDTO> insertar(List<MensajeChatDTO> lote) {
+        int[][] filas;
+        try {
+            filas = transactionTemplate.execute(estado -> jdbcTemplate.batchUpdate(SQL_INSERTAR, lote, lote.size(),
+                    this::asignarParametros));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Un lote de {} mensajes del chat fue rechazado, se guardan uno por uno", lote.size());
+            return insertarUnoPorUno(lote);
+        }
+
+        List<MensajeChatDTO> descartados = new ArrayList<>();
+        int indice = 0;
+        for (int[] filasLote : filas) {
+            for (int cantidad : filasLote) {
+                // SUCCESS_NO_INFO (-2) llega cuando el driver reescribe el lote en una sola sentencia
+                if (cantidad == 0) {
+                    descartados.add(lote.get(indice));
+                }
+                indice++;
+            }
+        }
+        registrarDescartados(descartados);
+        return descartados;
+    }
+
+    private List<MensajeChatDTO> insertarUnoPorUno(List<MensajeChatDTO> lote) {
+        List<MensajeChatDTO> descartados = new ArrayList<>();
+        for (MensajeChatDTO mensaje : lote) {
+            try {
+                if (jdbcTemplate.update(SQL_INSERTAR, ps -> asignarParametros(ps, mensaje)) == 0) {
+                    registrarDescartados(List.of(mensaje));
+                    descartados.add(mensaje);
+                }
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Se descarta el mensaje {} del grupo {} (remitente {}): {}",
+                        mensaje.getIdMensaje(), mensaje.getIdGrupo(), mensaje.getRemitente().getIdUsuario(),
+                        e.getMostSpecificCause().getMessage());
+                descartados.add(mensaje);
+            }
+        }
+        return descartados;
+    }
+
+    private void registrarDescartados(List<MensajeChatDTO> descartados) {
+        for (MensajeChatDTO mensaje : descartados) {
+            logger.error("Se descarta el mensaje {} del grupo {} (remitente {}): no se guardó en la base de datos",
+                    mensaje.getIdMensaje(), mensaje.getIdGrupo(), mensaje.getRemitente().getIdUsuario());
+        }
+    }
+
+    private void asignarParametros(PreparedStatement ps, MensajeChatDTO mensaje) throws SQLException {
+        ps.setLong(1, mensaje.getIdMensaje());
+        ps.setLong(2, mensaje.getIdGrupo());
+        ps.setLong(3, mensaje.getRemitente().getIdUsuario());
+        ps.setString(4, mensaje.getMensaje());
+        ps.setString(5, mensaje.getTipoMensaje());
+        ps.setString(6, mensaje.getArchivoUrl());
+        ps.setString(7, mensaje.getArchivoNombre());
+        ps.setTimestamp(8, Timestamp.valueOf(mensaje.getFechaEnvio()));
+    }
+
+    private void confirmar(int cantidad) throws IOException {
+        synchronized (bloqueoDiario) {
+            pendientes -= cantidad;
+            if (pendientes == 0) {
+                // Todo lo anotado ya está en la base de datos
+                diario.truncate(0);
+                bloqueoDiario.notifyAll();
+            }
+        }
+    }
+
+    private void recuperar(Path ruta) throws IOException {
+        List<MensajeChatDTO> mensajes = new ArrayList<>();
+        for (String linea : Files.readAllLines(ruta, StandardCharsets.UTF_8)) {
+            if (linea.isBlank()) {
+                continue;
+            }
+            try {
+                mensajes.add(objectMapper.readValue(linea, MensajeChatDTO.class));
+            } catch (JsonProcessingException e) {
+                // Línea cortada por una caída durante la escritura: ese mensaje no se llegó a confirmar
+                logger.warn("Se descarta una línea incompleta del diario del chat");
+            }
+        }
+
+        for (int desde = 0; desde < mensajes.size(); desde += tamanoLote) {
+            insertar(mensajes.subList(desde, Math.min(desde + tamanoLote, mensajes.size())));
+        }
+        diario.truncate(0);
+        if (!mensajes.isEmpty()) {
+            logger.info("Recuperados {} mensajes del chat desde el diario", mensajes.size());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.add.venture.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import com.add.venture.dto.GrupoViajeResponseDTO;
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.helper.GrupoViajeResponseAssembler;
+import com.add.venture.model.GrupoViaje;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Feed de grupos en tendencia de la página de inicio, ya serializado a JSON.
+ * Toma los grupos con más actividad reciente (ver TendenciasService) y completa
+ * con los más recientes si no alcanzan.
+ * Se calcula fuera de la petición y se guarda en memoria junto con su ETag;
+ * se marca como desactualizado cuando un grupo se crea, cambia, se cierra o
+ * se llena, y además se regenera cada cierto tiempo (TTL).
+ */
+@Service
+public class FeedTendenciasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedTendenciasService.class);
+
+    private static final int CANTIDAD_GRUPOS = 6;
+
+    // Tiempo máximo que se sirve el feed sin regenerarlo (1 minuto)
+    private static final long TTL_MS = 60000;
+
+    @Autowired
+    private IBuscarGrupoService buscarGrupoService;
+
+    @Autowired
+    private TendenciasService tendenciasService;
+
+    @Autowired
+    private GrupoViajeResponseAssembler grupoViajeResponseAssembler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Feed feed;
+    private volatile boolean desactualizado = true;
+
+    /**
+     * Genera el feed al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        regenerar();
+    }
+
+    /**
+     * Marca el feed como desactualizado cuando se confirma un cambio en un grupo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarGrupo(GrupoViajeEvent evento) {
+        desactualizado = true;
+    }
+
+    /**
+     * Tarea programada que regenera el feed si hubo cambios o si venció el TTL
+     */
+    @Scheduled(fixedDelay = 5000) // Cada 5 segundos
+    public void refrescar() {
+        Feed actual = feed;
+        if (desactualizado || actual == null || System.currentTimeMillis() - actual.generadoEn > TTL_MS) {
+            regenerar();
+        }
+    }
+
+    /**
+     * Devuelve el feed actual (lo genera en el momento solo si todavía no existe)
+     */
+    public Feed obtener() {
+        Feed actual = feed;
+        return actual != null ? actual : regenerar();
+    }
+
+    private synchronized Feed regenerar() {
+        // Se baja la marca antes de consultar: un cambio durante la consulta vuelve a marcarla
+        desactualizado = false;
+        try {
+            List<GrupoViaje> grupos = obtenerGruposDestacados();
+            List<GrupoViajeResponseDTO> gruposDTO = grupoViajeResponseAssembler.convertir(grupos);
+
+            byte[] json = objectMapper.writeValueAsBytes(gruposDTO);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+
+            // Si el contenido no cambió se conserva el ETag (y los clientes siguen recibiendo 304)
+            Feed anterior = feed;
+            feed = anterior != null && anterior.etag.equals(etag)
+                    ? new Feed(anterior.json, etag, System.currentTimeMillis())
+                    : new Feed(json, etag, System.currentTimeMillis());
+        } catch (JsonProcessingException | RuntimeException e) {
+            desactualizado = true;
+            logger.error("Error al generar el feed de tendencias", e);
+            if (feed == null) {
+                throw new RuntimeException("Feed de tendencias no disponible", e);
+            }
+        }
+        return feed;
+    }
+
+    /**
+     * Grupos del ranking de tendencias (se piden de más porque algunos pueden estar llenos)
+     * completados con los más recientes
+     */
+    private List<GrupoViaje> obtenerGruposDestacados() {
+        List<GrupoViaje> grupos = new ArrayList<>(
+                buscarGrupoService.buscarGruposPorIds(tendenciasService.topGrupos(CANTIDAD_GRUPOS * 2)));
+        if (grupos.size() > CANTIDAD_GRUPOS) {
+            return grupos.subList(0, CANTIDAD_GRUPOS);
+        }
+
+        List<GrupoViaje> recientes = buscarGrupoService.obtenerGrupos(
+                PageRequest.of(0, CANTIDAD_GRUPOS * 2, Sort.by("fechaCreacion").descending())).getContent();
+        for (GrupoViaje grupo : recientes) {
+            if (grupos.size() >= CANTIDAD_GRUPOS) {
+                break;
+            }
+            if (grupos.stream().noneMatch(g -> g.getIdGrupo().equals(grupo.getIdGrupo()))) {
+                grupos.add(grupo);
+            }
+        }
+        return grupos;
+    }
+
+    /**
+     * Feed serializado (inmutable)
+     */
+    public static class Feed {
+        private final byte[] json;
+        private final String etag;
+        private final long generadoEn;
+
+        Feed(byte[] json, String etag, long generadoEn) {
+            this.json = json;
+            this.etag = etag;
+            this.generadoEn = generadoEn;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
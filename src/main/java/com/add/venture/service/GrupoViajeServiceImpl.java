@@ -10,6 +10,8 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.add.venture.dto.CrearGrupoViajeDTO;
 import com.add.venture.dto.DiaItinerarioDTO;
+import com.add.venture.dto.FiltroBusquedaGruposDTO;
+import com.add.venture.event.GrupoViajeEvent;
 import com.add.venture.model.Etiqueta;
 import com.add.venture.model.GrupoViaje;
 import com.add.venture.model.Itinerario;
@@ -57,6 +61,12 @@ public class GrupoViajeServiceImpl implements IGrupoViajeService {
     @Autowired
     private IPermisosService permisosService;
 
+    @Autowired
+    private IBuscarGrupoService buscarGrupoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -162,6 +172,8 @@ public class GrupoViajeServiceImpl implements IGrupoViajeService {
             // Log del error pero no fallar la creación del grupo
             System.err.println("Error al asignar rol de líder: " + e.getMessage());
         }
+
+        eventPublisher.publishEvent(GrupoViajeEvent.de(GrupoViajeEvent.Tipo.CREADO, grupo));
         
         return grupo;
     }
@@ -182,12 +194,41 @@ public class GrupoViajeServiceImpl implements IGrupoViajeService {
             List<String> etiquetas,
             String ordenar) {
 
-        // En una implementación real, aquí se realizaría una consulta con filtros
-        // Por ahora, simplemente devolvemos todos los grupos
-        return grupoViajeRepository.findAll();
+        // idTipoViaje no se aplica: el modelo no tiene tipos de viaje
+        FiltroBusquedaGruposDTO filtro = FiltroBusquedaGruposDTO.builder()
+                .destino(destino)
+                .fechaInicio(fechaInicio)
+                .fechaFin(fechaFin)
+                .verificado(verificado)
+                .etiquetas(etiquetas)
+                .build();
+
+        // Rango de edad con formato "25-35" o "46+"
+        if (rangoEdad != null && !rangoEdad.isBlank()) {
+            try {
+                String rango = rangoEdad.trim();
+                if (rango.endsWith("+")) {
+                    filtro.setEdadMin(Integer.parseInt(rango.substring(0, rango.length() - 1).trim()));
+                } else if (rango.contains("-")) {
+                    String[] partes = rango.split("-");
+                    filtro.setEdadMin(Integer.parseInt(partes[0].trim()));
+                    filtro.setEdadMax(Integer.parseInt(partes[1].trim()));
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // Rango mal formado: se ignora el filtro
+            }
+        }
+
+        Sort orden;
+        if ("fecha".equals(ordenar) || "fechaInicio".equals(ordenar)) {
+            orden = Sort.by("viaje.fechaInicio").ascending();
+        } else if ("destino".equals(ordenar) || "destinoPrincipal".equals(ordenar)) {
+            orden = Sort.by("viaje.destinoPrincipal").ascending();
+        } else {
+            orden = Sort.by(Sort.Order.desc("fechaCreacion"), Sort.Order.desc("idGrupo"));
+        }
 
-        // Para una implementación más completa, se podría usar Specification o QueryDSL
-        // para construir consultas dinámicas basadas en los filtros proporcionados
+        return buscarGrupoService.buscarGrupos(filtro, orden);
     }
 
     @Override
@@ -263,7 +304,9 @@ public class GrupoViajeServiceImpl implements IGrupoViajeService {
         }
 
         // Guardar grupo actualizado
-        return grupoViajeRepository.save(grupo);
+        grupo = grupoViajeRepository.save(grupo);
+        eventPublisher.publishEvent(GrupoViajeEvent.de(GrupoViajeEvent.Tipo.ACTUALIZADO, grupo));
+        return grupo;
     }
 
     private void actualizarItinerariosInteligente(GrupoViaje grupo, List<DiaItinerarioDTO> diasItinerarioNuevos) {
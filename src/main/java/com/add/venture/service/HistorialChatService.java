@@ -0,0 +1,148 @@
+package com.add.venture.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.add.venture.dto.MensajeChatDTO;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.MensajeGrupo;
+import com.add.venture.repository.MensajeGrupoRepository;
+import com.add.venture.util.CursorMensajes;
+
+/**
+ * Historial del chat de un grupo por páginas: primero los mensajes más recientes
+ * y luego hacia atrás por cursor (fechaEnvio, idMensaje). Cada página es una
+ * lectura acotada del índice, sin importar cuántos mensajes tenga el grupo.
+ *
+ * Los mensajes más recientes se sirven desde BufferMensajesRecientes cuando está cargado;
+ * las páginas anteriores siempre van a la base de datos. Las consultas traen el remitente
+ * con JOIN FETCH, así que la conversión a MensajeChatDTO no dispara cargas lazy.
+ */
+@Service
+public class HistorialChatService {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private MensajeGrupoRepository mensajeGrupoRepository;
+
+    @Autowired
+    private BufferMensajesRecientes bufferMensajesRecientes;
+
+    /**
+     * Obtiene una página del historial
+     *
+     * @param grupo el grupo
+     * @param antes cursor de la página anterior (null para los más recientes)
+     * @param limite cantidad de mensajes (se ajusta a 1..LIMITE_MAXIMO)
+     * @return la página, con los mensajes en orden cronológico
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public Pagina obtenerPagina(GrupoViaje grupo, String antes, Integer limite) {
+        int tamano = limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        CursorMensajes cursor = CursorMensajes.decodificar(antes);
+        Long idGrupo = grupo.getIdGrupo();
+
+        Object carga = null;
+        int cantidad = tamano;
+        if (cursor == null) {
+            BufferMensajesRecientes.Lectura lectura = bufferMensajesRecientes.leer(idGrupo, tamano);
+            if (lectura != null) {
+                return crearPagina(lectura.getMensajes(), lectura.isHayMas());
+            }
+            // Se consulta al menos lo necesario para llenar el buffer del grupo
+            carga = bufferMensajesRecientes.iniciarCarga(idGrupo);
+            cantidad = Math.max(tamano, bufferMensajesRecientes.getCapacidad());
+        }
+
+        // Se pide uno de más para saber si quedan mensajes anteriores
+        PageRequest pagina = PageRequest.of(0, cantidad + 1);
+        List<MensajeGrupo> mensajes;
+        if (cursor == null) {
+            mensajes = mensajeGrupoRepository.findRecientes(grupo, pagina);
+        } else {
+            mensajes = mensajeGrupoRepository.findAnteriores(grupo, cursor.getFechaEnvio(), cursor.getIdMensaje(), pagina);
+        }
+
+        boolean hayMas = mensajes.size() > cantidad;
+        int total = Math.min(cantidad, mensajes.size());
+        List<MensajeChatDTO> recientes = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            recientes.add(MensajeChatDTO.de(mensajes.get(i)));
+        }
+
+        if (carga != null) {
+            bufferMensajesRecientes.completarCarga(idGrupo, carga, recientes, hayMas);
+        }
+
+        // Se invierte para entregarlos del más antiguo al más nuevo
+        int enPagina = Math.min(tamano, recientes.size());
+        List<MensajeChatDTO> mensajesDTO = new ArrayList<>(enPagina);
+        for (int i = enPagina - 1; i >= 0; i--) {
+            mensajesDTO.add(recientes.get(i));
+        }
+        return crearPagina(mensajesDTO, hayMas || recientes.size() > enPagina);
+    }
+
+    /**
+     * Mensajes más recientes del grupo en orden cronológico
+     */
+    public List<MensajeChatDTO> obtenerRecientes(GrupoViaje grupo) {
+        return obtenerPagina(grupo, null, LIMITE_POR_DEFECTO).getMensajes();
+    }
+
+    /**
+     * Registra un mensaje recién guardado (después de confirmarse)
+     */
+    public void registrarEnviado(MensajeChatDTO mensaje) {
+        bufferMensajesRecientes.agregar(mensaje);
+    }
+
+    /**
+     * Registra un mensaje eliminado (después de confirmarse)
+     */
+    public void registrarEliminado(Long idGrupo, Long idMensaje) {
+        bufferMensajesRecientes.eliminar(idGrupo, idMensaje);
+    }
+
+    private static Pagina crearPagina(List<MensajeChatDTO> mensajes, boolean hayMas) {
+        String siguienteCursor = null;
+        if (hayMas && !mensajes.isEmpty()) {
+            MensajeChatDTO masAntiguo = mensajes.get(0);
+            siguienteCursor = CursorMensajes.codificar(masAntiguo.getFechaEnvio(), masAntiguo.getIdMensaje());
+        }
+        return new Pagina(mensajes, siguienteCursor, siguienteCursor != null);
+    }
+
+    /**
+     * Página del historial (inmutable)
+     */
+    public static class Pagina {
+        private final List<MensajeChatDTO> mensajes;
+        private final String siguienteCursor;
+        private final boolean hayMas;
+
+        Pagina(List<MensajeChatDTO> mensajes, String siguienteCursor, boolean hayMas) {
+            this.mensajes = mensajes;
+            this.siguienteCursor = siguienteCursor;
+            this.hayMas = hayMas;
+        }
+
+        public List<MensajeChatDTO> getMensajes() {
+            return mensajes;
+        }
+
+        public String getSiguienteCursor() {
+            return siguienteCursor;
+        }
+
+        public boolean isHayMas() {
+            return hayMas;
+        }
+    }
+}
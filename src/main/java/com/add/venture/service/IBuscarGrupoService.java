@@ -1,16 +1,67 @@
 package com.add.venture.service;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import com.add.venture.dto.FiltroBusquedaGruposDTO;
 import com.add.venture.model.GrupoViaje;
+import com.add.venture.util.CursorGrupos;
 
 public interface IBuscarGrupoService {
 
     Page<GrupoViaje> obtenerGrupos(Pageable pageable);
 
     Page<GrupoViaje> buscarGrupos(String destinoPrincipal, LocalDate fechaInicio, LocalDate fechaFin, Pageable pageable);
+
+    /**
+     * Busca grupos activos con cupo aplicando solo los filtros informados
+     * 
+     * @param filtro los filtros de búsqueda
+     * @param pageable paginación y orden
+     * @return página de grupos con viaje y creador cargados
+     */
+    Page<GrupoViaje> buscarGrupos(FiltroBusquedaGruposDTO filtro, Pageable pageable);
+
+    /**
+     * Busca todos los grupos activos con cupo que cumplen los filtros, sin paginar
+     * 
+     * @param filtro los filtros de búsqueda
+     * @param orden el orden de los resultados
+     * @return lista de grupos con viaje y creador cargados
+     */
+    List<GrupoViaje> buscarGrupos(FiltroBusquedaGruposDTO filtro, Sort orden);
+
+    /**
+     * Obtiene los grupos activos con cupo de la lista, en el mismo orden de la lista
+     * 
+     * @param idsGrupos los IDs de los grupos
+     * @return lista de grupos con viaje y creador cargados
+     */
+    List<GrupoViaje> buscarGruposPorIds(List<Long> idsGrupos);
+
+    /**
+     * Busca la siguiente tanda de grupos por cursor (clave de orden, idGrupo),
+     * sin OFFSET ni consulta de conteo. Pensado para páginas profundas.
+     * 
+     * @param filtro los filtros de búsqueda
+     * @param orden el orden de los resultados
+     * @param cursor posición del último grupo recibido (null para empezar)
+     * @param limite cantidad máxima de grupos a devolver
+     * @return lista de grupos con viaje y creador cargados
+     */
+    List<GrupoViaje> buscarGruposDespuesDe(FiltroBusquedaGruposDTO filtro, CursorGrupos.Orden orden,
+            CursorGrupos cursor, int limite);
+
+    /**
+     * Cuenta los grupos que cumplen los filtros (solo cuando el cliente pide el total)
+     * 
+     * @param filtro los filtros de búsqueda
+     * @return cantidad de grupos activos con cupo
+     */
+    long contarGrupos(FiltroBusquedaGruposDTO filtro);
     
 }
@@ -0,0 +1,46 @@
+package com.add.venture.service;
+
+import com.add.venture.model.ParticipanteGrupo;
+
+public interface IParticipacionService {
+
+    /**
+     * Acepta una solicitud ocupando una plaza del grupo de forma atómica.
+     * El estado se cambia con un UPDATE condicional y la plaza solo se ocupa si ese UPDATE
+     * modificó la fila, todo en la misma transacción.
+     * 
+     * @param solicitud la solicitud a aceptar
+     * @return true si se aceptó (o ya estaba aceptada), false si el grupo ya no tiene cupo
+     */
+    boolean aceptarSolicitud(ParticipanteGrupo solicitud);
+
+    /**
+     * Rechaza una solicitud pendiente. Las solicitudes ya aceptadas o rechazadas no cambian.
+     * 
+     * @param solicitud la solicitud a rechazar
+     * @return true si se rechazó, false si la solicitud ya no estaba pendiente
+     */
+    boolean rechazarSolicitud(ParticipanteGrupo solicitud);
+
+    /**
+     * Guarda un participante ya aceptado sin validar el cupo (por ejemplo, la
+     * entrada del creador) y actualiza el contador del grupo
+     * 
+     * @param participante el participante con estado ACEPTADO
+     */
+    void registrarParticipanteAceptado(ParticipanteGrupo participante);
+
+    /**
+     * Elimina una participación (abandono o expulsión) y libera la plaza si estaba aceptada
+     * 
+     * @param participante la participación a eliminar
+     */
+    void retirarParticipante(ParticipanteGrupo participante);
+
+    /**
+     * Corrige los contadores de participantes aceptados que no coincidan con la tabla ParticipanteGrupo
+     * 
+     * @return número de grupos corregidos
+     */
+    int reconciliarParticipantesAceptados();
+}
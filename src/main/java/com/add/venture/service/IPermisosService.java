@@ -32,6 +32,12 @@ public interface IPermisosService {
      * Verifica si un usuario es el creador de un grupo
      */
     boolean esCreadorDelGrupo(Usuario usuario, GrupoViaje grupo);
+
+    /**
+     * Obtiene todos los permisos efectivos del usuario en el grupo resolviendo el rol una sola vez.
+     * Conviene cuando se hacen varias verificaciones sobre el mismo par (usuario, grupo).
+     */
+    CapacidadesGrupo obtenerCapacidades(Usuario usuario, GrupoViaje grupo);
     
     /**
      * Verifica si un usuario puede realizar una acción sobre otro usuario en un grupo
@@ -0,0 +1,24 @@
+package com.add.venture.service;
+
+import com.add.venture.model.Usuario;
+
+public interface IRefreshTokenService {
+
+    /**
+     * Emite un refresh token para un nuevo inicio de sesión (nueva familia)
+     */
+    RefreshTokenEmitido emitir(Usuario usuario);
+
+    /**
+     * Consume el refresh token y emite uno nuevo de la misma familia.
+     * Si el token ya fue usado se revoca toda la familia (posible robo).
+     *
+     * @return el nuevo token, o null si el token no existe, expiró, fue revocado o la cuenta está desactivada
+     */
+    RefreshTokenEmitido rotar(String token);
+
+    /**
+     * Revoca la familia del token (cierre de sesión)
+     */
+    void revocar(String token);
+}
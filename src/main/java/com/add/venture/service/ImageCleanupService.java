@@ -25,6 +25,9 @@ public class ImageCleanupService {
     @Autowired
     private MensajeGrupoRepository mensajeGrupoRepository;
 
+    @Autowired
+    private HistorialChatService historialChatService;
+
     /**
      * Tarea programada que se ejecuta diariamente a las 2:00 AM
      * Elimina las imágenes de los grupos que han sido cerrados hace más de 1 mes
@@ -76,6 +79,7 @@ public class ImageCleanupService {
                         
                         // Eliminar el mensaje de la base de datos
                         mensajeGrupoRepository.delete(mensaje);
+                        historialChatService.registrarEliminado(grupo.getIdGrupo(), mensaje.getIdMensaje());
                     }
                 }
             }
@@ -0,0 +1,250 @@
+package com.add.venture.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.util.TextoUtils;
+
+/**
+ * Índice invertido de trigramas en memoria sobre destino, descripción y etiquetas
+ * de los grupos activos. Reemplaza los LIKE '%x%' (que recorren toda la tabla)
+ * por una intersección de listas de IDs, sin distinguir mayúsculas ni tildes.
+ * Las consultas de una o dos letras no tienen trigramas y recorren los documentos
+ * en memoria, con la misma semántica de subcadena que el LIKE.
+ *
+ * Se construye al iniciar la aplicación y se mantiene sincronizado con los
+ * eventos de creación, actualización, cierre y eliminación de grupos.
+ */
+@Service
+public class IndiceDestinosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceDestinosService.class);
+
+    // Puntajes por campo en que aparece el texto buscado
+    private static final int PUNTAJE_DESTINO_EXACTO = 100;
+    private static final int PUNTAJE_DESTINO_INICIO = 50;
+    private static final int PUNTAJE_DESTINO = 30;
+    private static final int PUNTAJE_ETIQUETA = 20;
+    private static final int PUNTAJE_DESCRIPCION = 5;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    // Se reemplaza completo al reconstruir, así las búsquedas nunca ven un índice a medio cargar
+    private volatile Contenido contenido = new Contenido();
+    private volatile boolean listo = false;
+
+    /**
+     * Construye el índice con todos los grupos activos y lo publica de una sola vez
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        Contenido nuevo = new Contenido();
+
+        Map<Long, List<String>> etiquetasPorGrupo = new HashMap<>();
+        for (Object[] fila : grupoViajeRepository.findNombresEtiquetasByEstado("activo")) {
+            etiquetasPorGrupo.computeIfAbsent((Long) fila[0], k -> new ArrayList<>()).add((String) fila[1]);
+        }
+
+        for (Object[] fila : grupoViajeRepository.findDatosBusquedaByEstado("activo")) {
+            Long idGrupo = (Long) fila[0];
+            agregar(nuevo, idGrupo, (String) fila[1], (String) fila[2],
+                    etiquetasPorGrupo.getOrDefault(idGrupo, List.of()));
+        }
+
+        contenido = nuevo;
+        listo = true;
+        logger.info("Índice de destinos construido: {} grupos, {} claves en {} ms",
+                nuevo.documentos.size(), nuevo.indice.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Mantiene el índice sincronizado cuando se confirma un cambio en un grupo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alCambiarGrupo(GrupoViajeEvent evento) {
+        if (evento.getTipo() == GrupoViajeEvent.Tipo.LLENO) {
+            return;
+        }
+        Contenido actual = contenido;
+        quitar(actual, evento.getIdGrupo());
+        if (evento.isActivo()) {
+            agregar(actual, evento.getIdGrupo(), evento.getDestino(), evento.getDescripcion(), evento.getEtiquetas());
+        }
+    }
+
+    /**
+     * Indica si el índice ya fue construido (antes de eso se usa la búsqueda en base de datos)
+     */
+    public boolean estaListo() {
+        return listo;
+    }
+
+    /**
+     * Busca grupos cuyo destino, etiquetas o descripción contengan el texto
+     *
+     * @param texto el texto buscado (se ignoran mayúsculas y tildes)
+     * @param limite cantidad máxima de IDs a devolver
+     * @return IDs de grupos ordenados por relevancia (primero coincidencias en el destino)
+     */
+    public List<Long> buscar(String texto, int limite) {
+        String consulta = TextoUtils.normalizar(texto);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+
+        Contenido actual = contenido;
+        Set<Long> candidatos = obtenerCandidatos(actual, consulta);
+        if (candidatos.isEmpty()) {
+            return List.of();
+        }
+
+        // Verificar la coincidencia real y puntuar (los trigramas solo descartan)
+        List<long[]> resultados = new ArrayList<>();
+        for (Long idGrupo : candidatos) {
+            Documento doc = actual.documentos.get(idGrupo);
+            if (doc == null) {
+                continue;
+            }
+            int puntaje = doc.puntuar(consulta);
+            if (puntaje > 0) {
+                resultados.add(new long[] { idGrupo, puntaje });
+            }
+        }
+
+        resultados.sort(Comparator.<long[]>comparingLong(r -> r[1]).reversed()
+                .thenComparing(Comparator.<long[]>comparingLong(r -> r[0]).reversed()));
+
+        List<Long> ids = new ArrayList<>(Math.min(limite, resultados.size()));
+        for (int i = 0; i < resultados.size() && i < limite; i++) {
+            ids.add(resultados.get(i)[0]);
+        }
+        return ids;
+    }
+
+    private Set<Long> obtenerCandidatos(Contenido actual, String consulta) {
+        // Consultas de 1 o 2 letras: no tienen trigramas, así que se revisan todos los documentos
+        // (puntuar verifica que aparezcan en cualquier parte del texto, como el LIKE '%x%')
+        if (consulta.length() < 3) {
+            return actual.documentos.keySet();
+        }
+
+        // Intersección de los trigramas de la consulta, empezando por la lista más corta
+        List<Set<Long>> listas = new ArrayList<>();
+        for (String trigrama : trigramas(consulta)) {
+            Set<Long> ids = actual.indice.get(trigrama);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidatos = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !candidatos.isEmpty(); i++) {
+            candidatos.retainAll(listas.get(i));
+        }
+        return candidatos;
+    }
+
+    private void agregar(Contenido objetivo, Long idGrupo, String destino, String descripcion,
+            List<String> etiquetas) {
+        Documento doc = new Documento(
+                TextoUtils.normalizar(destino),
+                TextoUtils.normalizar(descripcion),
+                TextoUtils.normalizar(String.join(" ", etiquetas)));
+
+        for (String clave : doc.claves) {
+            objetivo.indice.computeIfAbsent(clave, k -> ConcurrentHashMap.newKeySet()).add(idGrupo);
+        }
+        objetivo.documentos.put(idGrupo, doc);
+    }
+
+    private void quitar(Contenido objetivo, Long idGrupo) {
+        Documento doc = objetivo.documentos.remove(idGrupo);
+        if (doc == null) {
+            return;
+        }
+        for (String clave : doc.claves) {
+            Set<Long> ids = objetivo.indice.get(clave);
+            if (ids != null) {
+                ids.remove(idGrupo);
+                if (ids.isEmpty()) {
+                    objetivo.indice.remove(clave, ids);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            resultado.add(texto.substring(i, i + 3));
+        }
+        return resultado;
+    }
+
+    /**
+     * Documentos indexados y listas de IDs por trigrama
+     */
+    private static class Contenido {
+        private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> indice = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Textos normalizados de un grupo y claves bajo las que está indexado
+     */
+    private static class Documento {
+        private final String destino;
+        private final String descripcion;
+        private final String etiquetas;
+        private final Set<String> claves = new HashSet<>();
+
+        Documento(String destino, String descripcion, String etiquetas) {
+            this.destino = destino;
+            this.descripcion = descripcion;
+            this.etiquetas = etiquetas;
+
+            for (String campo : new String[] { destino, descripcion, etiquetas }) {
+                claves.addAll(trigramas(campo));
+            }
+        }
+
+        int puntuar(String consulta) {
+            int puntaje = 0;
+            if (destino.equals(consulta)) {
+                puntaje += PUNTAJE_DESTINO_EXACTO;
+            } else if (destino.startsWith(consulta)) {
+                puntaje += PUNTAJE_DESTINO_INICIO;
+            } else if (destino.contains(consulta)) {
+                puntaje += PUNTAJE_DESTINO;
+            }
+            if (etiquetas.contains(consulta)) {
+                puntaje += PUNTAJE_ETIQUETA;
+            }
+            if (descripcion.contains(consulta)) {
+                puntaje += PUNTAJE_DESCRIPCION;
+            }
+            return puntaje;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.add.venture.service;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.model.Permiso;
+import com.add.venture.model.Rol;
+import com.add.venture.repository.PermisoRepository;
+import com.add.venture.repository.RolRepository;
+import com.add.venture.repository.UsuarioRolGrupoRepository;
+
+/**
+ * Matriz de permisos en memoria para resolver las verificaciones sin consultas:
+ * - cada rol tiene un BitSet con sus permisos activos (se carga al iniciar)
+ * - caché acotada (LRU) de (usuario, grupo) -> rol activo
+ *
+ * La caché de roles se invalida al asignar, cambiar o quitar un rol y al eliminar un grupo.
+ * Cada invalidación avanza un contador de generación: una lectura que empezó antes
+ * no puede volver a guardar el rol anterior.
+ */
+@Component
+public class MatrizPermisos {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatrizPermisos.class);
+
+    // Máximo de pares (usuario, grupo) en caché
+    private static final int MAX_ENTRADAS = 10000;
+
+    // Marca de "sin rol activo" (también se guarda para no repetir la consulta)
+    private static final long SIN_ROL = -1L;
+
+    // Cantidad de contadores de generación (las claves se reparten por hash)
+    private static final int GENERACIONES = 1024;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private PermisoRepository permisoRepository;
+
+    @Autowired
+    private UsuarioRolGrupoRepository usuarioRolGrupoRepository;
+
+    // Se reemplazan completos al recargar
+    private volatile Map<String, Integer> indicePermisos = Map.of();
+    private volatile Map<Long, BitSet> permisosPorRol = Map.of();
+    private volatile Map<Long, Integer> nivelPorRol = Map.of();
+
+    private final Map<String, Long> rolesPorUsuarioGrupo = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_ENTRADAS;
+        }
+    };
+
+    // Protegido por el mismo lock que rolesPorUsuarioGrupo
+    private final long[] generaciones = new long[GENERACIONES];
+
+    /**
+     * Carga la matriz rol -> permisos (después de que DataLoader crea roles y permisos)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        Map<String, Integer> indice = new HashMap<>();
+        for (Permiso permiso : permisoRepository.findByEstado("activo")) {
+            indice.put(permiso.getNombrePermiso(), indice.size());
+        }
+
+        Map<Long, BitSet> matriz = new HashMap<>();
+        Map<Long, Integer> niveles = new HashMap<>();
+        for (Rol rol : rolRepository.findAllConPermisos()) {
+            BitSet bits = new BitSet(indice.size());
+            if (rol.getPermisos() != null) {
+                for (Permiso permiso : rol.getPermisos()) {
+                    Integer posicion = indice.get(permiso.getNombrePermiso());
+                    if (posicion != null) {
+                        bits.set(posicion);
+                    }
+                }
+            }
+            matriz.put(rol.getIdRol(), bits);
+            if (rol.getNivelJerarquia() != null) {
+                niveles.put(rol.getIdRol(), rol.getNivelJerarquia());
+            }
+        }
+
+        indicePermisos = indice;
+        permisosPorRol = matriz;
+        nivelPorRol = niveles;
+        synchronized (rolesPorUsuarioGrupo) {
+            rolesPorUsuarioGrupo.clear();
+        }
+        logger.info("Matriz de permisos cargada: {} roles, {} permisos", matriz.size(), indice.size());
+    }
+
+    /**
+     * Verifica si el rol tiene el permiso (una prueba de bit)
+     */
+    public boolean rolTienePermiso(Long idRol, String nombrePermiso) {
+        if (idRol == null) {
+            return false;
+        }
+        Integer posicion = indicePermisos.get(nombrePermiso);
+        BitSet bits = permisosPorRol.get(idRol);
+        return posicion != null && bits != null && bits.get(posicion);
+    }
+
+    /**
+     * Nivel de jerarquía del rol (menor = más poder), o null si no se conoce
+     */
+    public Integer nivelDeRol(Long idRol) {
+        return idRol != null ? nivelPorRol.get(idRol) : null;
+    }
+
+    /**
+     * Capacidades de un rol (o de un creador) sin copiar la matriz: los BitSet
+     * no se modifican después de cargarlos, se reemplazan completos
+     */
+    public CapacidadesGrupo capacidades(Long idRol, boolean creador) {
+        BitSet bits = idRol != null ? permisosPorRol.get(idRol) : null;
+        return new CapacidadesGrupo(creador, idRol, nivelDeRol(idRol), indicePermisos,
+                bits != null ? bits : new BitSet());
+    }
+
+    /**
+     * Obtiene el ID del rol activo del usuario en el grupo (solo consulta si no está en caché)
+     *
+     * @return el ID del rol, o null si no tiene rol activo
+     */
+    public Long rolEnGrupo(Long idUsuario, Long idGrupo) {
+        String clave = clave(idUsuario, idGrupo);
+        Long idRol;
+        long generacion;
+        synchronized (rolesPorUsuarioGrupo) {
+            idRol = rolesPorUsuarioGrupo.get(clave);
+            generacion = generaciones[posicion(clave)];
+        }
+
+        if (idRol == null) {
+            idRol = usuarioRolGrupoRepository.findIdRolActivo(idUsuario, idGrupo).orElse(SIN_ROL);
+            synchronized (rolesPorUsuarioGrupo) {
+                // Si se invalidó mientras se consultaba, el valor leído puede ser el anterior
+                if (generaciones[posicion(clave)] == generacion) {
+                    rolesPorUsuarioGrupo.put(clave, idRol);
+                }
+            }
+        }
+        return idRol == SIN_ROL ? null : idRol;
+    }
+
+    /**
+     * Quita de la caché el rol del usuario en el grupo. Si hay una transacción en curso
+     * se vuelve a quitar al confirmarse, para no conservar un valor leído antes del commit.
+     */
+    public void invalidar(Long idUsuario, Long idGrupo) {
+        String clave = clave(idUsuario, idGrupo);
+        quitar(clave);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    quitar(clave);
+                }
+            });
+        }
+    }
+
+    /**
+     * Quita de la caché los roles del grupo cuando se elimina
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarGrupo(GrupoViajeEvent evento) {
+        if (evento.getTipo() != GrupoViajeEvent.Tipo.ELIMINADO) {
+            return;
+        }
+        String sufijo = ":" + evento.getIdGrupo();
+        synchronized (rolesPorUsuarioGrupo) {
+            rolesPorUsuarioGrupo.keySet().removeIf(clave -> {
+                if (clave.endsWith(sufijo)) {
+                    generaciones[posicion(clave)]++;
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    private void quitar(String clave) {
+        synchronized (rolesPorUsuarioGrupo) {
+            generaciones[posicion(clave)]++;
+            rolesPorUsuarioGrupo.remove(clave);
+        }
+    }
+
+    private static int posicion(String clave) {
+        return Math.floorMod(clave.hashCode(), GENERACIONES);
+    }
+
+    private static String clave(Long idUsuario, Long idGrupo) {
+        return idUsuario + ":" + idGrupo;
+    }
+}
@@ -0,0 +1,135 @@
+package com.add.venture.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import com.add.venture.event.ActividadGrupoEvent;
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.model.ParticipanteGrupo;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.repository.ParticipanteGrupoRepository;
+
+@Service
+public class ParticipacionServiceImpl implements IParticipacionService {
+
+    @Autowired
+    private ParticipanteGrupoRepository participanteGrupoRepository;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public boolean aceptarSolicitud(ParticipanteGrupo solicitud) {
+        if (solicitud.getEstadoSolicitud() == EstadoSolicitud.ACEPTADO) {
+            return true;
+        }
+
+        Long idUsuario = solicitud.getUsuario().getIdUsuario();
+        Long idGrupo = solicitud.getGrupo().getIdGrupo();
+
+        // Las solicitudes nuevas se guardan como pendientes para que el UPDATE condicional decida
+        if (!participanteGrupoRepository.existsByUsuarioAndGrupo(solicitud.getUsuario(), solicitud.getGrupo())) {
+            solicitud.setEstadoSolicitud(EstadoSolicitud.PENDIENTE);
+            participanteGrupoRepository.saveAndFlush(solicitud);
+        }
+
+        // Cambiar el estado primero: si otro líder ya la aceptó, no se actualiza ninguna fila
+        // y la plaza no se vuelve a ocupar
+        if (participanteGrupoRepository.cambiarEstadoSiDistinto(idUsuario, idGrupo, EstadoSolicitud.ACEPTADO) == 0) {
+            solicitud.setEstadoSolicitud(EstadoSolicitud.ACEPTADO);
+            return true;
+        }
+
+        // Si el grupo ya no tiene cupo se deshace también el cambio de estado
+        if (grupoViajeRepository.ocuparPlaza(idGrupo) == 0) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return false;
+        }
+
+        solicitud.setEstadoSolicitud(EstadoSolicitud.ACEPTADO);
+        solicitud.setFechaUnion(LocalDateTime.now());
+        participanteGrupoRepository.save(solicitud);
+        eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.PLAZA_OCUPADA, idGrupo));
+        publicarSiSeLleno(idGrupo);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean rechazarSolicitud(ParticipanteGrupo solicitud) {
+        if (!participanteGrupoRepository.existsByUsuarioAndGrupo(solicitud.getUsuario(), solicitud.getGrupo())) {
+            solicitud.setEstadoSolicitud(EstadoSolicitud.RECHAZADO);
+            participanteGrupoRepository.save(solicitud);
+            return true;
+        }
+
+        // Solo una solicitud pendiente se puede rechazar; un participante aceptado se retira con retirarParticipante
+        if (participanteGrupoRepository.cambiarEstadoSiEs(solicitud.getUsuario().getIdUsuario(),
+                solicitud.getGrupo().getIdGrupo(), EstadoSolicitud.PENDIENTE, EstadoSolicitud.RECHAZADO) == 0) {
+            return false;
+        }
+
+        solicitud.setEstadoSolicitud(EstadoSolicitud.RECHAZADO);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void registrarParticipanteAceptado(ParticipanteGrupo participante) {
+        participante.setEstadoSolicitud(EstadoSolicitud.ACEPTADO);
+        participanteGrupoRepository.save(participante);
+        grupoViajeRepository.incrementarParticipantesAceptados(participante.getGrupo().getIdGrupo());
+        eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.PLAZA_OCUPADA,
+                participante.getGrupo().getIdGrupo()));
+        publicarSiSeLleno(participante.getGrupo().getIdGrupo());
+    }
+
+    @Override
+    @Transactional
+    public void retirarParticipante(ParticipanteGrupo participante) {
+        boolean estabaAceptado = participante.getEstadoSolicitud() == EstadoSolicitud.ACEPTADO;
+        participanteGrupoRepository.delete(participante);
+
+        if (estabaAceptado) {
+            grupoViajeRepository.liberarPlaza(participante.getGrupo().getIdGrupo());
+            eventPublisher.publishEvent(ActividadGrupoEvent.de(ActividadGrupoEvent.Tipo.PLAZA_LIBERADA,
+                    participante.getGrupo().getIdGrupo()));
+        }
+    }
+
+    /**
+     * Tarea programada que se ejecuta al iniciar la aplicación y luego cada hora
+     * Repara cualquier desviación del contador de participantes aceptados
+     * (incluye los grupos existentes antes de agregar la columna)
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelay = 3600000) // Al iniciar y luego cada hora
+    public int reconciliarParticipantesAceptados() {
+        int corregidos = grupoViajeRepository.reconciliarParticipantesAceptados(EstadoSolicitud.ACEPTADO);
+        if (corregidos > 0) {
+            System.out.println("Contadores de participantes corregidos: " + corregidos);
+        }
+        return corregidos;
+    }
+
+    /**
+     * Avisa (al confirmarse la transacción) que el grupo ocupó su última plaza
+     */
+    private void publicarSiSeLleno(Long idGrupo) {
+        if (grupoViajeRepository.estaLleno(idGrupo)) {
+            eventPublisher.publishEvent(GrupoViajeEvent.lleno(idGrupo));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.add.venture.model.GrupoViaje;
@@ -27,47 +28,54 @@ public class PermisosServiceImpl implements IPermisosService {
     @Autowired
     private RolRepository rolRepository;
 
+    @Autowired
+    private MatrizPermisos matrizPermisos;
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean usuarioTienePermiso(Usuario usuario, GrupoViaje grupo, String nombrePermiso) {
         // Verificar si es el creador del grupo (tiene todos los permisos)
         if (esCreadorDelGrupo(usuario, grupo)) {
             return true;
         }
         
-        // Obtener el rol del usuario en el grupo
-        Optional<UsuarioRolGrupo> usuarioRolGrupo = usuarioRolGrupoRepository
-                .findActiveByUsuarioAndGrupo(usuario, grupo);
-        
-        if (usuarioRolGrupo.isEmpty()) {
-            return false;
-        }
-        
-        // Verificar si el rol tiene el permiso específico
-        Rol rol = usuarioRolGrupo.get().getRol();
-        return rol.getPermisos().stream()
-                .anyMatch(permiso -> permiso.getNombrePermiso().equals(nombrePermiso) && 
-                                   "activo".equals(permiso.getEstado()));
+        // Rol del usuario en el grupo (en caché) y prueba del permiso en la matriz
+        Long idRol = matrizPermisos.rolEnGrupo(usuario.getIdUsuario(), grupo.getIdGrupo());
+        return matrizPermisos.rolTienePermiso(idRol, nombrePermiso);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean usuarioTieneAlgunPermiso(Usuario usuario, GrupoViaje grupo, List<String> nombresPermisos) {
-        return nombresPermisos.stream()
-                .anyMatch(permiso -> usuarioTienePermiso(usuario, grupo, permiso));
+        return obtenerCapacidades(usuario, grupo).tieneAlguno(nombresPermisos);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean usuarioTieneTodosLosPermisos(Usuario usuario, GrupoViaje grupo, List<String> nombresPermisos) {
-        return nombresPermisos.stream()
-                .allMatch(permiso -> usuarioTienePermiso(usuario, grupo, permiso));
+        return obtenerCapacidades(usuario, grupo).tieneTodos(nombresPermisos);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CapacidadesGrupo obtenerCapacidades(Usuario usuario, GrupoViaje grupo) {
+        if (usuario == null || grupo == null) {
+            return CapacidadesGrupo.ninguna();
+        }
+        // Una sola resolución del rol; las verificaciones posteriores son pruebas de bit
+        Long idRol = matrizPermisos.rolEnGrupo(usuario.getIdUsuario(), grupo.getIdGrupo());
+        return matrizPermisos.capacidades(idRol, esCreadorDelGrupo(usuario, grupo));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean esCreadorDelGrupo(Usuario usuario, GrupoViaje grupo) {
         return grupo.getCreador() != null && 
                grupo.getCreador().getIdUsuario().equals(usuario.getIdUsuario());
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean puedeGestionarUsuario(Usuario gestor, Usuario objetivo, GrupoViaje grupo) {
         // El creador puede gestionar a cualquiera
         if (esCreadorDelGrupo(gestor, grupo)) {
@@ -80,23 +88,21 @@ public class PermisosServiceImpl implements IPermisosService {
         }
         
         // Obtener roles de ambos usuarios
-        Optional<UsuarioRolGrupo> rolGestor = usuarioRolGrupoRepository
-                .findActiveByUsuarioAndGrupo(gestor, grupo);
-        Optional<UsuarioRolGrupo> rolObjetivo = usuarioRolGrupoRepository
-                .findActiveByUsuarioAndGrupo(objetivo, grupo);
+        Long rolGestor = matrizPermisos.rolEnGrupo(gestor.getIdUsuario(), grupo.getIdGrupo());
+        Long rolObjetivo = matrizPermisos.rolEnGrupo(objetivo.getIdUsuario(), grupo.getIdGrupo());
         
-        if (rolGestor.isEmpty()) {
+        if (rolGestor == null) {
             return false;
         }
         
         // Si el objetivo no tiene rol, puede ser gestionado por cualquiera con rol
-        if (rolObjetivo.isEmpty()) {
+        if (rolObjetivo == null) {
             return true;
         }
         
         // Comparar jerarquías (nivel menor = más poder)
-        Integer nivelGestor = rolGestor.get().getRol().getNivelJerarquia();
-        Integer nivelObjetivo = rolObjetivo.get().getRol().getNivelJerarquia();
+        Integer nivelGestor = matrizPermisos.nivelDeRol(rolGestor);
+        Integer nivelObjetivo = matrizPermisos.nivelDeRol(rolObjetivo);
         
         return nivelGestor != null && nivelObjetivo != null && nivelGestor < nivelObjetivo;
     }
@@ -104,6 +110,8 @@ public class PermisosServiceImpl implements IPermisosService {
 
     @Override
     public UsuarioRolGrupo asignarRolEnGrupo(Usuario usuario, GrupoViaje grupo, Rol rol, Usuario asignadoPor) {
+        matrizPermisos.invalidar(usuario.getIdUsuario(), grupo.getIdGrupo());
+
         // Verificar si ya tiene un rol activo en el grupo
         Optional<UsuarioRolGrupo> rolExistente = usuarioRolGrupoRepository
                 .findActiveByUsuarioAndGrupo(usuario, grupo);
@@ -140,6 +148,8 @@ public class PermisosServiceImpl implements IPermisosService {
 
     @Override
     public void removerRolEnGrupo(Usuario usuario, GrupoViaje grupo, Usuario removidoPor) {
+        matrizPermisos.invalidar(usuario.getIdUsuario(), grupo.getIdGrupo());
+
         Optional<UsuarioRolGrupo> rolExistente = usuarioRolGrupoRepository
                 .findActiveByUsuarioAndGrupo(usuario, grupo);
         
@@ -212,6 +222,7 @@ public class PermisosServiceImpl implements IPermisosService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean puedeAsignarRoles(Usuario usuario, GrupoViaje grupo) {
         // El creador siempre puede asignar roles descriptivos
         if (esCreadorDelGrupo(usuario, grupo)) {
@@ -219,7 +230,6 @@ public class PermisosServiceImpl implements IPermisosService {
         }
         
         // Verificar si tiene permisos específicos para asignar roles
-        return usuarioTienePermiso(usuario, grupo, "ASIGNAR_ROLES") ||
-               usuarioTienePermiso(usuario, grupo, "GESTIONAR_MIEMBROS");
+        return obtenerCapacidades(usuario, grupo).tieneAlguno(List.of("ASIGNAR_ROLES", "GESTIONAR_MIEMBROS"));
     }
 } 
\ No newline at end of file
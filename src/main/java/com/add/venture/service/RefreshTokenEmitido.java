@@ -0,0 +1,21 @@
+package com.add.venture.service;
+
+import com.add.venture.model.Usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Refresh token recién emitido (el valor en claro solo existe aquí, en la base se guarda el hash)
+ */
+@Getter
+@AllArgsConstructor
+public class RefreshTokenEmitido {
+
+    private final String token;
+
+    // Familia de rotación, también se incluye en el access token como sesión
+    private final String familia;
+
+    private final Usuario usuario;
+}
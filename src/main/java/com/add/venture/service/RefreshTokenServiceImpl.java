@@ -0,0 +1,109 @@
+package com.add.venture.service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.add.venture.model.RefreshToken;
+import com.add.venture.model.Usuario;
+import com.add.venture.repository.RefreshTokenRepository;
+import com.add.venture.security.CuentasRevocadas;
+import com.add.venture.util.HashUtils;
+
+@Service
+@Transactional
+public class RefreshTokenServiceImpl implements IRefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private CuentasRevocadas cuentasRevocadas;
+
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 días en milisegundos
+    private long refreshExpiration;
+
+    @Override
+    public RefreshTokenEmitido emitir(Usuario usuario) {
+        return crear(usuario, UUID.randomUUID().toString());
+    }
+
+    @Override
+    public RefreshTokenEmitido rotar(String token) {
+        // Se devuelve null en lugar de lanzar una excepción para que la revocación se confirme
+        RefreshToken actual = refreshTokenRepository.findByTokenHash(HashUtils.sha256Hex(token)).orElse(null);
+        if (actual == null) {
+            return null;
+        }
+
+        if (Boolean.TRUE.equals(actual.getRevocado())
+                || refreshTokenRepository.marcarRevocado(actual.getIdRefreshToken()) == 0) {
+            // Un token ya rotado se volvió a usar: se cierra la sesión completa
+            revocarFamilia(actual.getFamilia());
+            logger.warn("Reutilización de refresh token detectada (usuario {})", actual.getUsuario().getIdUsuario());
+            return null;
+        }
+
+        if (actual.getFechaExpiracion().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+
+        Usuario usuario = actual.getUsuario();
+        if (cuentasRevocadas.estaRevocada(usuario.getEmail())) {
+            return null;
+        }
+
+        return crear(usuario, actual.getFamilia());
+    }
+
+    @Override
+    public void revocar(String token) {
+        refreshTokenRepository.findByTokenHash(HashUtils.sha256Hex(token))
+                .ifPresent(refreshToken -> revocarFamilia(refreshToken.getFamilia()));
+    }
+
+    /**
+     * Elimina los refresh tokens vencidos
+     */
+    @Scheduled(cron = "0 15 4 * * *") // Todos los días a las 4:15
+    public void limpiarExpirados() {
+        int eliminados = refreshTokenRepository.eliminarExpiradosAntesDe(LocalDateTime.now());
+        if (eliminados > 0) {
+            logger.info("Refresh tokens expirados eliminados: {}", eliminados);
+        }
+    }
+
+    private RefreshTokenEmitido crear(Usuario usuario, String familia) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(HashUtils.sha256Hex(token))
+                .familia(familia)
+                .fechaExpiracion(LocalDateTime.now().plusNanos(refreshExpiration * 1_000_000))
+                .usuario(usuario)
+                .build());
+
+        return new RefreshTokenEmitido(token, familia, usuario);
+    }
+
+    private void revocarFamilia(String familia) {
+        refreshTokenRepository.revocarFamilia(familia);
+        // Los access tokens de la sesión se rechazan sin esperar a que expiren
+        cuentasRevocadas.revocarSesion(familia);
+    }
+}
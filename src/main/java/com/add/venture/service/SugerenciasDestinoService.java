@@ -0,0 +1,214 @@
+package com.add.venture.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.add.venture.dto.SugerenciaDestinoDTO;
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.repository.ViajeRepository;
+import com.add.venture.util.TextoUtils;
+
+/**
+ * Autocompletado de destinos y etiquetas con un árbol de prefijos (trie) en memoria.
+ * Cada término pesa según la cantidad de grupos activos que lo usan y cada nodo guarda
+ * ya calculadas sus mejores sugerencias, así una consulta solo recorre el prefijo
+ * escrito y no toca la base de datos.
+ */
+@Service
+public class SugerenciasDestinoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SugerenciasDestinoService.class);
+
+    // Sugerencias guardadas por nodo (máximo que se puede pedir)
+    public static final int MAX_SUGERENCIAS = 10;
+
+    private static final Comparator<Termino> POR_PESO = Comparator
+            .comparingInt((Termino t) -> t.peso).reversed()
+            .thenComparing(t -> t.clave);
+
+    @Autowired
+    private ViajeRepository viajeRepository;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    private final Nodo raiz = new Nodo();
+
+    // Términos (normalizados) que aporta cada grupo activo, para poder restarlos al cambiar
+    private final Map<Long, Set<String>> terminosPorGrupo = new HashMap<>();
+
+    // Texto original con que se muestra cada término normalizado
+    private final Map<String, String> textoVisible = new HashMap<>();
+
+    /**
+     * Construye el trie con los destinos y etiquetas de los grupos activos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        raiz.hijos.clear();
+        raiz.mejores = List.of();
+        terminosPorGrupo.clear();
+        textoVisible.clear();
+
+        Map<Long, List<String>> textosPorGrupo = new HashMap<>();
+        for (Object[] fila : viajeRepository.findDestinosByEstadoGrupo("activo")) {
+            textosPorGrupo.computeIfAbsent((Long) fila[0], k -> new ArrayList<>()).add((String) fila[1]);
+        }
+        for (Object[] fila : grupoViajeRepository.findNombresEtiquetasByEstado("activo")) {
+            textosPorGrupo.computeIfAbsent((Long) fila[0], k -> new ArrayList<>()).add((String) fila[1]);
+        }
+
+        textosPorGrupo.forEach(this::agregarGrupo);
+
+        logger.info("Sugerencias de destinos construidas: {} grupos, {} términos en {} ms",
+                terminosPorGrupo.size(), textoVisible.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Actualiza los pesos cuando se confirma un cambio en un grupo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alCambiarGrupo(GrupoViajeEvent evento) {
+        if (evento.getTipo() == GrupoViajeEvent.Tipo.LLENO) {
+            return;
+        }
+        quitarGrupo(evento.getIdGrupo());
+        if (evento.isActivo()) {
+            List<String> textos = new ArrayList<>(evento.getEtiquetas());
+            textos.add(evento.getDestino());
+            agregarGrupo(evento.getIdGrupo(), textos);
+        }
+    }
+
+    /**
+     * Devuelve los términos más usados que empiezan con el prefijo
+     *
+     * @param prefijo lo que el usuario lleva escrito (se ignoran mayúsculas y tildes)
+     * @param limite cantidad máxima de sugerencias (hasta MAX_SUGERENCIAS)
+     * @return sugerencias ordenadas por cantidad de grupos
+     */
+    public List<SugerenciaDestinoDTO> sugerir(String prefijo, int limite) {
+        String clave = TextoUtils.normalizar(prefijo);
+        if (clave.isEmpty()) {
+            return List.of();
+        }
+
+        Nodo nodo = raiz;
+        for (int i = 0; i < clave.length() && nodo != null; i++) {
+            nodo = nodo.hijos.get(clave.charAt(i));
+        }
+        if (nodo == null) {
+            return List.of();
+        }
+
+        List<Termino> mejores = nodo.mejores;
+        List<SugerenciaDestinoDTO> sugerencias = new ArrayList<>(Math.min(limite, mejores.size()));
+        for (int i = 0; i < mejores.size() && i < limite; i++) {
+            Termino termino = mejores.get(i);
+            sugerencias.add(new SugerenciaDestinoDTO(termino.texto, termino.peso));
+        }
+        return sugerencias;
+    }
+
+    private void agregarGrupo(Long idGrupo, List<String> textos) {
+        Set<String> claves = new LinkedHashSet<>();
+        for (String texto : textos) {
+            String clave = TextoUtils.normalizar(texto);
+            if (!clave.isEmpty() && claves.add(clave)) {
+                textoVisible.putIfAbsent(clave, texto.trim());
+                ajustarPeso(clave, 1);
+            }
+        }
+        if (!claves.isEmpty()) {
+            terminosPorGrupo.put(idGrupo, claves);
+        }
+    }
+
+    private void quitarGrupo(Long idGrupo) {
+        Set<String> claves = terminosPorGrupo.remove(idGrupo);
+        if (claves != null) {
+            claves.forEach(clave -> ajustarPeso(clave, -1));
+        }
+    }
+
+    /**
+     * Suma delta al peso del término y recalcula las mejores sugerencias de cada
+     * nodo del camino, desde la hoja hasta la raíz
+     */
+    private void ajustarPeso(String clave, int delta) {
+        List<Nodo> camino = new ArrayList<>(clave.length() + 1);
+        Nodo nodo = raiz;
+        camino.add(nodo);
+        for (int i = 0; i < clave.length(); i++) {
+            nodo = nodo.hijos.computeIfAbsent(clave.charAt(i), c -> new Nodo());
+            camino.add(nodo);
+        }
+
+        int peso = (nodo.termino != null ? nodo.termino.peso : 0) + delta;
+        if (peso > 0) {
+            nodo.termino = new Termino(clave, textoVisible.getOrDefault(clave, clave), peso);
+        } else {
+            nodo.termino = null;
+            textoVisible.remove(clave);
+        }
+
+        for (int i = camino.size() - 1; i >= 0; i--) {
+            Nodo actual = camino.get(i);
+            actual.recalcularMejores();
+            // Podar ramas que quedaron vacías
+            if (i > 0 && actual.termino == null && actual.hijos.isEmpty()) {
+                camino.get(i - 1).hijos.remove(clave.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Término con su texto visible y cantidad de grupos (inmutable)
+     */
+    private static class Termino {
+        private final String clave;
+        private final String texto;
+        private final int peso;
+
+        Termino(String clave, String texto, int peso) {
+            this.clave = clave;
+            this.texto = texto;
+            this.peso = peso;
+        }
+    }
+
+    private static class Nodo {
+        private final Map<Character, Nodo> hijos = new ConcurrentHashMap<>();
+        private volatile Termino termino;
+        // Lista inmutable; se reemplaza completa para que las lecturas no necesiten bloqueo
+        private volatile List<Termino> mejores = List.of();
+
+        void recalcularMejores() {
+            List<Termino> candidatos = new ArrayList<>();
+            if (termino != null) {
+                candidatos.add(termino);
+            }
+            for (Nodo hijo : hijos.values()) {
+                candidatos.addAll(hijo.mejores);
+            }
+            candidatos.sort(POR_PESO);
+            mejores = List.copyOf(candidatos.subList(0, Math.min(MAX_SUGERENCIAS, candidatos.size())));
+        }
+    }
+}
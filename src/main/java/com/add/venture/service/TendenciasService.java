@@ -0,0 +1,479 @@
+package com.add.venture.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.add.venture.dto.DestinoTendenciaDTO;
+import com.add.venture.event.ActividadGrupoEvent;
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.repository.MensajeGrupoRepository;
+import com.add.venture.repository.ParticipanteGrupoRepository;
+import com.add.venture.repository.ResenaRepository;
+import com.add.venture.util.TextoUtils;
+
+/**
+ * Ranking de grupos y destinos en tendencia según la actividad reciente:
+ * solicitudes de unión, mensajes del chat, reseñas y ocupación de plazas.
+ *
+ * Cada actividad suma un peso que decae con el tiempo (vida media de 72 horas).
+ * Se usa decaimiento "hacia adelante": en lugar de restar puntaje a todos con el
+ * paso del tiempo, cada actividad nueva pesa más que las anteriores en relación a
+ * un instante de origen fijo, así el orden relativo no cambia mientras no haya
+ * actividad y los puntajes se actualizan de forma incremental.
+ *
+ * Los rankings se guardan en conjuntos ordenados, por lo que obtener los K
+ * primeros solo recorre K elementos. Se reconstruye desde la base de datos al
+ * iniciar y una vez al día (para reiniciar el instante de origen).
+ */
+@Service
+public class TendenciasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TendenciasService.class);
+
+    private static final double VIDA_MEDIA_SEGUNDOS = 72 * 3600.0;
+    private static final double LAMBDA = Math.log(2) / VIDA_MEDIA_SEGUNDOS;
+
+    // Días de actividad que se cargan al reconstruir (más atrás el peso es despreciable)
+    private static final int DIAS_HISTORIAL = 30;
+
+    // Pesos por tipo de actividad
+    private static final double PESO_SOLICITUD = 3.0;
+    private static final double PESO_MENSAJE = 0.25;
+    private static final double PESO_PLAZA_OCUPADA = 2.0;
+    private static final double PESO_RESENA = 2.0;
+
+    private static final String TAG = "Tendencia";
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    @Autowired
+    private ParticipanteGrupoRepository participanteGrupoRepository;
+
+    @Autowired
+    private MensajeGrupoRepository mensajeGrupoRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    // Se reemplaza completo al reconstruir; las escrituras se sincronizan sobre el servicio
+    private volatile Ranking ranking = new Ranking(ahora());
+
+    // Cambios recibidos mientras se reconstruye (null si no hay reconstrucción en curso).
+    // Se repiten sobre el ranking nuevo antes de publicarlo para no perderlos.
+    private List<Consumer<Ranking>> cambiosDuranteReconstruccion;
+
+    // Evita dos reconstrucciones a la vez (al iniciar y la programada)
+    private final Object reconstruccion = new Object();
+
+    /**
+     * Reconstruye el ranking con la actividad de los últimos días.
+     * Se ejecuta al iniciar la aplicación y todos los días a las 4:30 AM.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 4 * * *")
+    public void reconstruir() {
+        synchronized (reconstruccion) {
+            try {
+                reconstruirRanking();
+            } finally {
+                // Si falla una consulta, se deja de guardar cambios (el ranking actual sigue vigente)
+                synchronized (this) {
+                    cambiosDuranteReconstruccion = null;
+                }
+            }
+        }
+    }
+
+    private void reconstruirRanking() {
+        long inicio = System.currentTimeMillis();
+        LocalDateTime desde = LocalDateTime.now().minusDays(DIAS_HISTORIAL);
+
+        // Desde aquí los eventos se aplican al ranking actual y se guardan para el nuevo
+        synchronized (this) {
+            cambiosDuranteReconstruccion = new ArrayList<>();
+        }
+
+        // Las consultas se hacen fuera del bloqueo
+        List<Object[]> datosGrupos = grupoViajeRepository.findDatosTendenciaByEstado("activo");
+        List<Object[]> solicitudes = participanteGrupoRepository.contarSolicitudesPorDia("activo", desde);
+        List<Object[]> mensajes = mensajeGrupoRepository.contarMensajesPorDia("activo", desde);
+        List<Object[]> resenas = resenaRepository.sumarCalificacionesPorDestinoYDia(desde);
+
+        Ranking nuevo = new Ranking(ahora());
+        for (Object[] fila : datosGrupos) {
+            nuevo.fijarGrupo((Long) fila[0], (String) fila[1], (String) fila[2],
+                    (Integer) fila[3], (Integer) fila[4]);
+        }
+        for (Object[] fila : solicitudes) {
+            nuevo.sumarActividad((Long) fila[0], PESO_SOLICITUD * ((Number) fila[2]).doubleValue(),
+                    instanteDelDia((LocalDate) fila[1]));
+        }
+        for (Object[] fila : mensajes) {
+            nuevo.sumarActividad((Long) fila[0], PESO_MENSAJE * ((Number) fila[2]).doubleValue(),
+                    instanteDelDia((LocalDate) fila[1]));
+        }
+        for (Object[] fila : resenas) {
+            nuevo.sumarResenas((String) fila[0], PESO_RESENA * ((Number) fila[2]).doubleValue() / 5.0,
+                    instanteDelDia((LocalDate) fila[1]));
+        }
+
+        synchronized (this) {
+            for (Consumer<Ranking> cambio : cambiosDuranteReconstruccion) {
+                cambio.accept(nuevo);
+            }
+            cambiosDuranteReconstruccion = null;
+            ranking = nuevo;
+        }
+
+        logger.info("Ranking de tendencias construido: {} grupos, {} destinos en {} ms",
+                nuevo.grupos.size(), nuevo.destinos.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Registra la actividad de un grupo cuando se confirma la transacción
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alRegistrarActividad(ActividadGrupoEvent evento) {
+        long instante = evento.getFecha().atZone(ZoneId.systemDefault()).toEpochSecond();
+        switch (evento.getTipo()) {
+            case SOLICITUD:
+                aplicar(r -> r.sumarActividad(evento.getIdGrupo(), PESO_SOLICITUD * evento.getValor(), instante));
+                break;
+            case MENSAJE:
+                aplicar(r -> r.sumarActividad(evento.getIdGrupo(), PESO_MENSAJE * evento.getValor(), instante));
+                break;
+            case RESENA:
+                aplicar(r -> r.sumarResenas(evento.getDestino(), PESO_RESENA * evento.getValor(), instante));
+                break;
+            case PLAZA_OCUPADA:
+                aplicar(r -> {
+                    r.ajustarPlazas(evento.getIdGrupo(), 1);
+                    r.sumarActividad(evento.getIdGrupo(), PESO_PLAZA_OCUPADA * evento.getValor(), instante);
+                });
+                break;
+            case PLAZA_LIBERADA:
+                aplicar(r -> r.ajustarPlazas(evento.getIdGrupo(), -1));
+                break;
+        }
+    }
+
+    /**
+     * Agrega, actualiza o quita el grupo del ranking cuando se confirma un cambio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarGrupo(GrupoViajeEvent evento) {
+        if (!evento.isActivo()) {
+            synchronized (this) {
+                aplicar(r -> r.quitarGrupo(evento.getIdGrupo()));
+            }
+            return;
+        }
+
+        List<Object[]> filas = grupoViajeRepository.findDatosTendenciaById(evento.getIdGrupo());
+        synchronized (this) {
+            aplicar(r -> {
+                for (Object[] fila : filas) {
+                    r.fijarGrupo((Long) fila[0], (String) fila[1], (String) fila[2],
+                            (Integer) fila[3], (Integer) fila[4]);
+                }
+            });
+        }
+    }
+
+    /**
+     * Aplica un cambio al ranking actual y, si hay una reconstrucción en curso,
+     * lo guarda para repetirlo sobre el ranking nuevo (se llama con el servicio bloqueado)
+     */
+    private void aplicar(Consumer<Ranking> cambio) {
+        cambio.accept(ranking);
+        if (cambiosDuranteReconstruccion != null) {
+            cambiosDuranteReconstruccion.add(cambio);
+        }
+    }
+
+    /**
+     * IDs de los grupos activos con más actividad reciente
+     *
+     * @param limite cantidad máxima de grupos
+     * @return IDs ordenados de mayor a menor puntaje
+     */
+    public List<Long> topGrupos(int limite) {
+        List<Long> ids = new ArrayList<>(limite);
+        Iterator<PosicionGrupo> it = ranking.rankingGrupos.iterator();
+        while (it.hasNext() && ids.size() < limite) {
+            PosicionGrupo posicion = it.next();
+            if (posicion.puntaje <= 0) {
+                break;
+            }
+            ids.add(posicion.idGrupo);
+        }
+        return ids;
+    }
+
+    /**
+     * Destinos con más actividad reciente (suma de sus grupos activos y sus reseñas)
+     *
+     * @param limite cantidad máxima de destinos
+     * @return destinos ordenados de mayor a menor puntaje
+     */
+    public List<DestinoTendenciaDTO> topDestinos(int limite) {
+        List<DestinoTendenciaDTO> destinos = new ArrayList<>(limite);
+        Iterator<PosicionDestino> it = ranking.rankingDestinos.iterator();
+        while (it.hasNext() && destinos.size() < limite) {
+            PosicionDestino posicion = it.next();
+            if (posicion.puntaje <= 0) {
+                break;
+            }
+            // "Ciudad, País" se separa en nombre y país
+            String nombre = posicion.texto;
+            String pais = null;
+            int coma = nombre.lastIndexOf(',');
+            if (coma > 0) {
+                pais = nombre.substring(coma + 1).trim();
+                nombre = nombre.substring(0, coma).trim();
+            }
+            destinos.add(new DestinoTendenciaDTO(nombre, pais, posicion.imagen,
+                    (long) posicion.cantidadGrupos, TAG));
+        }
+        return destinos;
+    }
+
+    private static long ahora() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * La actividad agrupada por día se ubica al mediodía (sin pasar de ahora)
+     */
+    private static long instanteDelDia(LocalDate dia) {
+        long mediodia = dia.atTime(12, 0).atZone(ZoneId.systemDefault()).toEpochSecond();
+        return Math.min(mediodia, ahora());
+    }
+
+    /**
+     * Estado completo del ranking. Los mapas solo se modifican con el servicio
+     * bloqueado; los conjuntos ordenados se pueden leer sin bloqueo.
+     */
+    private static class Ranking {
+        private final long origen;
+        private final Map<Long, Grupo> grupos = new HashMap<>();
+        private final Map<String, Destino> destinos = new HashMap<>();
+        private final ConcurrentSkipListSet<PosicionGrupo> rankingGrupos = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<PosicionDestino> rankingDestinos = new ConcurrentSkipListSet<>();
+
+        Ranking(long origen) {
+            this.origen = origen;
+        }
+
+        /**
+         * Peso de una actividad en el instante dado, relativo al origen
+         */
+        double factor(long instante) {
+            return Math.exp(LAMBDA * (instante - origen));
+        }
+
+        void fijarGrupo(Long idGrupo, String destino, String imagen, Integer aceptados, Integer max) {
+            String clave = TextoUtils.normalizar(destino);
+            Grupo grupo = grupos.get(idGrupo);
+            double actividad = 0;
+
+            if (grupo != null && !grupo.destino.equals(clave)) {
+                // Cambió el destino: se mueve conservando su actividad
+                actividad = grupo.actividad;
+                quitarGrupo(idGrupo);
+                grupo = null;
+            }
+            if (grupo == null) {
+                if (clave.isEmpty()) {
+                    return;
+                }
+                grupo = new Grupo(idGrupo, clave);
+                grupo.actividad = actividad;
+                grupos.put(idGrupo, grupo);
+                ajustarDestino(clave, destino.trim(), imagen, 1, grupo.puntaje(), 0);
+            }
+
+            double anterior = grupo.puntaje();
+            grupo.aceptados = aceptados != null ? aceptados : 0;
+            grupo.max = max != null ? max : 0;
+            actualizarPosicion(grupo, anterior);
+        }
+
+        void quitarGrupo(Long idGrupo) {
+            Grupo grupo = grupos.remove(idGrupo);
+            if (grupo == null) {
+                return;
+            }
+            rankingGrupos.remove(grupo.posicion);
+            ajustarDestino(grupo.destino, null, null, -1, -grupo.puntaje(), 0);
+        }
+
+        void sumarActividad(Long idGrupo, double peso, long instante) {
+            Grupo grupo = grupos.get(idGrupo);
+            if (grupo == null) {
+                return;
+            }
+            double anterior = grupo.puntaje();
+            grupo.actividad += peso * factor(instante);
+            actualizarPosicion(grupo, anterior);
+        }
+
+        void ajustarPlazas(Long idGrupo, int delta) {
+            Grupo grupo = grupos.get(idGrupo);
+            if (grupo == null) {
+                return;
+            }
+            double anterior = grupo.puntaje();
+            grupo.aceptados = Math.max(0, grupo.aceptados + delta);
+            actualizarPosicion(grupo, anterior);
+        }
+
+        void sumarResenas(String destino, double peso, long instante) {
+            String clave = TextoUtils.normalizar(destino);
+            // Solo cuentan los destinos que tienen grupos activos
+            if (destinos.containsKey(clave)) {
+                ajustarDestino(clave, null, null, 0, 0, peso * factor(instante));
+            }
+        }
+
+        private void actualizarPosicion(Grupo grupo, double anterior) {
+            if (grupo.posicion != null) {
+                rankingGrupos.remove(grupo.posicion);
+            }
+            grupo.posicion = new PosicionGrupo(grupo.idGrupo, grupo.puntaje());
+            rankingGrupos.add(grupo.posicion);
+            ajustarDestino(grupo.destino, null, null, 0, grupo.puntaje() - anterior, 0);
+        }
+
+        /**
+         * Aplica los cambios de un destino (cantidad de grupos y puntajes) y reubica su posición
+         */
+        private void ajustarDestino(String clave, String texto, String imagen, int deltaCantidad,
+                double deltaPuntajeGrupos, double deltaPuntajeResenas) {
+            Destino destino = destinos.get(clave);
+            if (destino == null) {
+                if (texto == null) {
+                    return;
+                }
+                destino = new Destino(texto);
+                destinos.put(clave, destino);
+            }
+            if (destino.imagen == null && imagen != null && !imagen.isBlank()) {
+                destino.imagen = imagen;
+            }
+
+            destino.cantidadGrupos += deltaCantidad;
+            destino.puntajeGrupos += deltaPuntajeGrupos;
+            destino.puntajeResenas += deltaPuntajeResenas;
+
+            if (destino.posicion != null) {
+                rankingDestinos.remove(destino.posicion);
+            }
+            if (destino.cantidadGrupos <= 0) {
+                destinos.remove(clave);
+                return;
+            }
+            destino.posicion = new PosicionDestino(clave, destino.puntajeGrupos + destino.puntajeResenas,
+                    destino.texto, destino.imagen, destino.cantidadGrupos);
+            rankingDestinos.add(destino.posicion);
+        }
+    }
+
+    private static class Grupo {
+        private final Long idGrupo;
+        private final String destino;
+        private double actividad;
+        private int aceptados;
+        private int max;
+        private PosicionGrupo posicion;
+
+        Grupo(Long idGrupo, String destino) {
+            this.idGrupo = idGrupo;
+            this.destino = destino;
+        }
+
+        /**
+         * Actividad multiplicada por la ocupación (un grupo casi lleno pesa hasta el doble)
+         */
+        double puntaje() {
+            double ocupacion = max > 0 ? Math.min(1.0, (aceptados + 1) / (double) max) : 0;
+            return actividad * (1 + ocupacion);
+        }
+    }
+
+    private static class Destino {
+        private final String texto;
+        private String imagen;
+        private int cantidadGrupos;
+        private double puntajeGrupos;
+        private double puntajeResenas;
+        private PosicionDestino posicion;
+
+        Destino(String texto) {
+            this.texto = texto;
+        }
+    }
+
+    /**
+     * Entrada inmutable del ranking de grupos (mayor puntaje primero)
+     */
+    private static final class PosicionGrupo implements Comparable<PosicionGrupo> {
+        private final Long idGrupo;
+        private final double puntaje;
+
+        PosicionGrupo(Long idGrupo, double puntaje) {
+            this.idGrupo = idGrupo;
+            this.puntaje = puntaje;
+        }
+
+        @Override
+        public int compareTo(PosicionGrupo otra) {
+            int comparacion = Double.compare(otra.puntaje, puntaje);
+            return comparacion != 0 ? comparacion : idGrupo.compareTo(otra.idGrupo);
+        }
+    }
+
+    /**
+     * Entrada inmutable del ranking de destinos, con los datos que se muestran
+     */
+    private static final class PosicionDestino implements Comparable<PosicionDestino> {
+        private final String clave;
+        private final double puntaje;
+        private final String texto;
+        private final String imagen;
+        private final int cantidadGrupos;
+
+        PosicionDestino(String clave, double puntaje, String texto, String imagen, int cantidadGrupos) {
+            this.clave = clave;
+            this.puntaje = puntaje;
+            this.texto = texto;
+            this.imagen = imagen;
+            this.cantidadGrupos = cantidadGrupos;
+        }
+
+        @Override
+        public int compareTo(PosicionDestino otra) {
+            int comparacion = Double.compare(otra.puntaje, puntaje);
+            return comparacion != 0 ? comparacion : clave.compareTo(otra.clave);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.add.venture.service;
 
 import com.add.venture.model.Usuario;
-import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.security.ContextoUsuarioActual;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,17 +13,15 @@ import java.util.List;
 public class UsuarioDetallesService implements UserDetailsService {
 
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private ContextoUsuarioActual contextoUsuarioActual;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Intentar buscar por email primero
-        Usuario usuario = usuarioRepository.findByEmail(username)
-                .orElseGet(() -> 
-                    // Si no se encuentra por email, intentar por teléfono
-                    usuarioRepository.findByTelefono(username)
-                        .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username))
-                );
+        // Buscar por email y, si no se encuentra, por teléfono (memorizado durante la petición)
+        Usuario usuario = contextoUsuarioActual.buscarPorIdentificador(username);
+        if (usuario == null) {
+            throw new UsernameNotFoundException("Usuario no encontrado: " + username);
+        }
 
         return new User(
                 usuario.getEmail(),
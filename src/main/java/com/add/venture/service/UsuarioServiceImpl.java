@@ -3,6 +3,7 @@ package com.add.venture.service;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +18,7 @@ import com.add.venture.dto.PerfilUsuarioDTO;
 import com.add.venture.dto.RegistroUsuarioDTO;
 import com.add.venture.model.Usuario;
 import com.add.venture.repository.UsuarioRepository;
+import com.add.venture.security.ContextoUsuarioActual;
 
 @Service
 public class UsuarioServiceImpl implements IUsuarioService {
@@ -27,6 +29,10 @@ public class UsuarioServiceImpl implements IUsuarioService {
     @Autowired
     private UsuarioDetallesService usuarioDetallesService;
 
+    // Búsquedas memorizadas por petición (el navbar pide el mismo usuario varias veces)
+    @Autowired
+    private ContextoUsuarioActual contextoUsuarioActual;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -82,7 +88,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
      */
     @Override
     public RegistroUsuarioDTO buscarPorEmail(String email) {
-        return usuarioRepository.findByEmail(email)
+        return Optional.ofNullable(contextoUsuarioActual.buscarPorEmail(email))
                 .map(usuario -> new RegistroUsuarioDTO(
                         usuario.getNombre(),
                         usuario.getApellidos(),
@@ -99,7 +105,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
 
     @Override
     public PerfilUsuarioDTO buscarPerfilPorEmail(String email) {
-        return usuarioRepository.findByEmail(email)
+        return Optional.ofNullable(contextoUsuarioActual.buscarPorEmail(email))
                 .map(usuario -> new PerfilUsuarioDTO(
                         usuario.getNombre(),
                         usuario.getApellidos(),
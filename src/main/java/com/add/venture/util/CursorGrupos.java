@@ -0,0 +1,147 @@
+package com.add.venture.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.add.venture.model.GrupoViaje;
+
+/**
+ * Cursor opaco para la paginación por keyset de los listados de grupos.
+ * Guarda el valor de la clave de orden y el ID del último grupo entregado,
+ * codificados en Base64 URL para que el cliente no dependa de su formato.
+ */
+public final class CursorGrupos {
+
+    /**
+     * Órdenes soportados en modo cursor. Todos desempatan por idGrupo.
+     */
+    public enum Orden {
+        RECIENTES("fechaCreacion", true),
+        FECHA_INICIO("viaje.fechaInicio", false),
+        DESTINO("viaje.destinoPrincipal", false);
+
+        private final String campo;
+        private final boolean descendente;
+
+        Orden(String campo, boolean descendente) {
+            this.campo = campo;
+            this.descendente = descendente;
+        }
+
+        public String getCampo() {
+            return campo;
+        }
+
+        public boolean isDescendente() {
+            return descendente;
+        }
+
+        /**
+         * Obtiene el orden a partir del parámetro "sort" de los listados
+         */
+        public static Orden desdeParametro(String sort) {
+            if ("fechaInicio".equals(sort)) {
+                return FECHA_INICIO;
+            }
+            if ("destinoPrincipal".equals(sort)) {
+                return DESTINO;
+            }
+            return RECIENTES;
+        }
+
+        Comparable<?> valorDe(GrupoViaje grupo) {
+            if (this != RECIENTES && grupo.getViaje() == null) {
+                return null;
+            }
+            switch (this) {
+                case FECHA_INICIO:
+                    return grupo.getViaje().getFechaInicio();
+                case DESTINO:
+                    return grupo.getViaje().getDestinoPrincipal();
+                default:
+                    return grupo.getFechaCreacion();
+            }
+        }
+
+        Comparable<?> parsear(String valor) {
+            switch (this) {
+                case FECHA_INICIO:
+                    return LocalDate.parse(valor);
+                case DESTINO:
+                    return valor;
+                default:
+                    return LocalDateTime.parse(valor);
+            }
+        }
+    }
+
+    private static final String SEPARADOR = "|";
+
+    // Marca de clave de orden nula (en MySQL los nulos van primero en orden ascendente)
+    private static final String NULO = "~";
+
+    private final Orden orden;
+    private final Comparable<?> valor;
+    private final Long idGrupo;
+
+    private CursorGrupos(Orden orden, Comparable<?> valor, Long idGrupo) {
+        this.orden = orden;
+        this.valor = valor;
+        this.idGrupo = idGrupo;
+    }
+
+    public Orden getOrden() {
+        return orden;
+    }
+
+    public Comparable<?> getValor() {
+        return valor;
+    }
+
+    public Long getIdGrupo() {
+        return idGrupo;
+    }
+
+    /**
+     * Crea el cursor que apunta después del grupo indicado
+     *
+     * @param orden el orden activo
+     * @param ultimo el último grupo de la página entregada
+     * @return el cursor codificado
+     */
+    public static String codificar(Orden orden, GrupoViaje ultimo) {
+        Comparable<?> valor = orden.valorDe(ultimo);
+        String texto = orden.name() + SEPARADOR + ultimo.getIdGrupo() + SEPARADOR + (valor != null ? valor : NULO);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente
+     *
+     * @param cursor el cursor (null o vacío para la primera página)
+     * @param orden el orden activo de la petición
+     * @return el cursor, o null si es la primera página
+     * @throws IllegalArgumentException si el cursor no es válido o pertenece a otro orden
+     */
+    public static CursorGrupos decodificar(String cursor, Orden orden) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|", 3);
+            Orden ordenCursor = Orden.valueOf(partes[0]);
+            if (ordenCursor != orden) {
+                throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+            }
+            Comparable<?> valor = NULO.equals(partes[2]) ? null : ordenCursor.parsear(partes[2]);
+            return new CursorGrupos(ordenCursor, valor, Long.parseLong(partes[1]));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.add.venture.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para recorrer el historial del chat hacia atrás.
+ * Guarda la fecha de envío y el ID del mensaje más antiguo entregado,
+ * codificados en Base64 URL para que el cliente no dependa de su formato.
+ */
+public final class CursorMensajes {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime fechaEnvio;
+    private final Long idMensaje;
+
+    private CursorMensajes(LocalDateTime fechaEnvio, Long idMensaje) {
+        this.fechaEnvio = fechaEnvio;
+        this.idMensaje = idMensaje;
+    }
+
+    public LocalDateTime getFechaEnvio() {
+        return fechaEnvio;
+    }
+
+    public Long getIdMensaje() {
+        return idMensaje;
+    }
+
+    /**
+     * Crea el cursor que apunta antes del mensaje indicado
+     *
+     * @param fechaEnvio fecha de envío del mensaje más antiguo de la página entregada
+     * @param idMensaje ID de ese mensaje
+     * @return el cursor codificado
+     */
+    public static String codificar(LocalDateTime fechaEnvio, Long idMensaje) {
+        String texto = idMensaje + SEPARADOR + fechaEnvio;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente
+     *
+     * @param cursor el cursor (null o vacío para los mensajes más recientes)
+     * @return el cursor, o null si se piden los más recientes
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static CursorMensajes decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|", 2);
+            return new CursorMensajes(LocalDateTime.parse(partes[1]), Long.parseLong(partes[0]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.add.venture.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Utilidades de hash para guardar o indexar tokens sin conservar su valor
+ */
+public final class HashUtils {
+
+    private HashUtils() {
+    }
+
+    /**
+     * Hash SHA-256 del texto en hexadecimal (64 caracteres)
+     */
+    public static String sha256Hex(String texto) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * HMAC-SHA256 del texto con la clave indicada, en hexadecimal (64 caracteres).
+     * Para valores de pocas combinaciones (como un código de 6 dígitos), donde un
+     * SHA-256 sin clave se podría revertir probando todas.
+     */
+    public static String hmacSha256Hex(String clave, String texto) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(clave.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.add.venture.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marca el ID de una entidad para que Hibernate lo asigne con IdsTemporales antes del INSERT.
+ * A diferencia de IDENTITY, no hace falta ejecutar cada INSERT para conocer el ID,
+ * así que Hibernate puede agrupar las inserciones en lotes JDBC (hibernate.jdbc.batch_size).
+ */
+@IdGeneratorType(GeneradorIdTemporal.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface IdTemporal {
+}
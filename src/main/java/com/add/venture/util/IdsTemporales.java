@@ -0,0 +1,61 @@
+package com.add.venture.util;
+
+/**
+ * Generador de IDs ordenados por tiempo (estilo Snowflake), para asignar
+ * el ID de una fila antes de insertarla:
+ * - 41 bits: milisegundos desde 2024-01-01 (alcanza hasta ~2093)
+ * - 4 bits: nodo (variable de entorno NODO_ID, 0 por defecto; debe ser distinto en cada instancia)
+ * - 8 bits: secuencia dentro del mismo milisegundo
+ *
+ * Son 53 bits en total para que los IDs se puedan usar como Number en JavaScript sin perder precisión.
+ *
+ * Si el reloj retrocede se sigue usando el último milisegundo emitido,
+ * así que los IDs nunca se repiten ni decrecen dentro de una instancia.
+ */
+public final class IdsTemporales {
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCA = 1704067200000L;
+
+    private static final int BITS_NODO = 4;
+    private static final int BITS_SECUENCIA = 8;
+    private static final long MAX_SECUENCIA = (1L << BITS_SECUENCIA) - 1;
+
+    private static final long NODO = leerNodo();
+
+    private static long ultimoMilisegundo = -1;
+    private static long secuencia;
+
+    private IdsTemporales() {
+    }
+
+    /**
+     * Obtiene el siguiente ID
+     */
+    public static synchronized long siguiente() {
+        long ahora = Math.max(System.currentTimeMillis() - EPOCA, ultimoMilisegundo);
+        if (ahora == ultimoMilisegundo) {
+            secuencia = (secuencia + 1) & MAX_SECUENCIA;
+            if (secuencia == 0) {
+                // Secuencia agotada en este milisegundo: se toma el siguiente
+                ahora = ultimoMilisegundo + 1;
+            }
+        } else {
+            secuencia = 0;
+        }
+        ultimoMilisegundo = ahora;
+        return (ahora << (BITS_NODO + BITS_SECUENCIA)) | (NODO << BITS_SECUENCIA) | secuencia;
+    }
+
+    private static long leerNodo() {
+        String valor = System.getenv("NODO_ID");
+        if (valor == null || valor.isBlank()) {
+            return 0;
+        }
+        long nodo = Long.parseLong(valor.trim());
+        if (nodo < 0 || nodo >= (1L << BITS_NODO)) {
+            throw new IllegalStateException("NODO_ID debe estar entre 0 y " + ((1L << BITS_NODO) - 1));
+        }
+        return nodo;
+    }
+}
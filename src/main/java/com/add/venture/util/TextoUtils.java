@@ -0,0 +1,33 @@
+package com.add.venture.util;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades de texto compartidas por los índices de búsqueda en memoria
+ */
+public final class TextoUtils {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9ñ]+");
+
+    private TextoUtils() {
+    }
+
+    /**
+     * Normaliza un texto para comparaciones: minúsculas, sin tildes (la ñ se conserva),
+     * sin signos de puntuación y con espacios simples
+     *
+     * @param texto el texto original (puede ser null)
+     * @return el texto normalizado, o cadena vacía si es null
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String minusculas = texto.toLowerCase().replace('ñ', '\u0001');
+        String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(minusculas, Normalizer.Form.NFD)).replaceAll("");
+        sinTildes = sinTildes.replace('\u0001', 'ñ');
+        return NO_ALFANUMERICO.matcher(sinTildes).replaceAll(" ").trim();
+    }
+}
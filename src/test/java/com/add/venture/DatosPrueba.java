@@ -0,0 +1,80 @@
+package com.add.venture;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.ParticipanteGrupo;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
+import com.add.venture.model.Usuario;
+import com.add.venture.model.Viaje;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Entidades mínimas (sin guardar) y estadísticas de Hibernate para las pruebas de persistencia
+ */
+public final class DatosPrueba {
+
+    private DatosPrueba() {
+    }
+
+    /**
+     * Usuario con nombre de usuario y email únicos derivados del nombre
+     */
+    public static Usuario usuario(String nombre) {
+        return Usuario.builder()
+                .nombre(nombre)
+                .apellidos("Prueba")
+                .nombreUsuario(nombre)
+                .email(nombre + "@venture.test")
+                .contrasenaHash("x")
+                .build();
+    }
+
+    /**
+     * Viaje de cinco días que empieza dentro de la cantidad de días indicada
+     */
+    public static Viaje viaje(String destino, int enDias) {
+        return Viaje.builder()
+                .destinoPrincipal(destino)
+                .fechaInicio(LocalDate.now().plusDays(enDias))
+                .fechaFin(LocalDate.now().plusDays(enDias + 5))
+                .build();
+    }
+
+    /**
+     * Grupo activo creado ahora (viaje, etiquetas, etc. se completan con los setters)
+     */
+    public static GrupoViaje grupo(String nombre, Usuario creador, int maxParticipantes) {
+        return GrupoViaje.builder()
+                .nombreViaje(nombre)
+                .estado("activo")
+                .fechaCreacion(LocalDateTime.now())
+                .maxParticipantes(maxParticipantes)
+                .creador(creador)
+                .build();
+    }
+
+    public static ParticipanteGrupo participante(Usuario usuario, GrupoViaje grupo, EstadoSolicitud estado) {
+        return ParticipanteGrupo.builder()
+                .usuario(usuario)
+                .grupo(grupo)
+                .rolParticipante("MIEMBRO")
+                .estadoSolicitud(estado)
+                .fechaUnion(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Estadísticas de Hibernate puestas en cero (requiere hibernate.generate_statistics del perfil test)
+     */
+    public static Statistics estadisticas(EntityManagerFactory entityManagerFactory) {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        return estadisticas;
+    }
+}
@@ -0,0 +1,150 @@
+package com.add.venture.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.Permiso;
+import com.add.venture.model.Rol;
+import com.add.venture.model.Usuario;
+import com.add.venture.model.UsuarioRolGrupo;
+import com.add.venture.security.ContextoUsuarioActual;
+import com.add.venture.service.MatrizPermisos;
+import com.add.venture.service.PermisosServiceImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Sentencias de una página con varias verificaciones de permisos: el usuario y el grupo
+ * se buscan una vez por petición y el rol una vez por par (usuario, grupo).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ PermisosThymeleafHelper.class, PermisosServiceImpl.class, MatrizPermisos.class,
+        ContextoUsuarioActual.class })
+class PermisosThymeleafHelperTests {
+
+    @Autowired
+    private PermisosThymeleafHelper permisos;
+
+    @Autowired
+    private MatrizPermisos matrizPermisos;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    private Long idGrupo;
+
+    @BeforeEach
+    void preparar() {
+        Permiso accederChat = crearPermiso("ACCEDER_CHAT");
+        Permiso enviarMensajes = crearPermiso("ENVIAR_MENSAJES");
+        crearPermiso("EDITAR_GRUPO");
+        crearPermiso("EXPULSAR_MIEMBROS");
+        Rol miembro = entityManager.persist(Rol.builder()
+                .nombreRol("MIEMBRO")
+                .descripcion("Miembro")
+                .nivelJerarquia(4)
+                .permisos(new HashSet<>(Set.of(accederChat, enviarMensajes)))
+                .build());
+
+        Usuario viajero = entityManager.persist(DatosPrueba.usuario("viajero"));
+        GrupoViaje grupo = entityManager.persist(DatosPrueba.grupo("Grupo de prueba",
+                entityManager.persist(DatosPrueba.usuario("lider")), 10));
+        entityManager.persist(UsuarioRolGrupo.builder()
+                .usuario(viajero)
+                .grupo(grupo)
+                .rol(miembro)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        idGrupo = grupo.getIdGrupo();
+
+        // Los datos se crean después del arranque: se recarga la matriz rol -> permisos
+        matrizPermisos.cargar();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(viajero.getEmail(), null, List.of()));
+        iniciarPeticion();
+
+        estadisticas = DatosPrueba.estadisticas(entityManagerFactory);
+    }
+
+    @AfterEach
+    void limpiar() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void diezVerificacionesEnUnaPaginaUsanTresSentencias() {
+        verificarPagina();
+
+        // Usuario por email, grupo por ID y rol del usuario en el grupo
+        assertEquals(3, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void otraPeticionVuelveABuscarUsuarioYGrupoPeroNoElRol() {
+        verificarPagina();
+        // Cada petición tiene su propio contexto de persistencia
+        entityManager.clear();
+        iniciarPeticion();
+        verificarPagina();
+
+        // El rol queda en la caché de MatrizPermisos entre peticiones
+        assertEquals(5, estadisticas.getPrepareStatementCount());
+    }
+
+    /**
+     * Diez verificaciones como las de la vista de un grupo
+     */
+    private void verificarPagina() {
+        assertTrue(permisos.puedeAccederChat(idGrupo));
+        assertTrue(permisos.puedeEnviarMensajes(idGrupo));
+        assertFalse(permisos.puedeEditarGrupo(idGrupo));
+        assertFalse(permisos.puedeEliminarGrupo(idGrupo));
+        assertFalse(permisos.puedeExpulsarMiembros(idGrupo));
+        assertFalse(permisos.puedeAsignarRoles(idGrupo));
+        assertFalse(permisos.esCreador(idGrupo));
+        assertTrue(permisos.tienePermiso(idGrupo, "ACCEDER_CHAT"));
+        assertTrue(permisos.tieneAlgunPermiso(idGrupo, List.of("EDITAR_GRUPO", "ENVIAR_MENSAJES")));
+        assertTrue(permisos.capacidades(idGrupo).tiene("ENVIAR_MENSAJES"));
+    }
+
+    private void iniciarPeticion() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private Permiso crearPermiso(String nombre) {
+        return entityManager.persist(Permiso.builder().nombrePermiso(nombre).build());
+    }
+}
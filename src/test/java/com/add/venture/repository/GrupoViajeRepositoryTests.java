@@ -0,0 +1,133 @@
+package com.add.venture.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.model.Etiqueta;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
+import com.add.venture.model.Usuario;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Planes de carga de GrupoViaje: cada buscador debe resolver en una sola sentencia todo
+ * lo que su plan incluye, y recorrer esas asociaciones no debe disparar consultas nuevas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class GrupoViajeRepositoryTests {
+
+    private static final int GRUPOS = 4;
+    private static final int PARTICIPANTES_POR_GRUPO = 3;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    private Usuario lider;
+    private Usuario viajero;
+    private Long idPrimerGrupo;
+
+    @BeforeEach
+    void preparar() {
+        Etiqueta playa = entityManager.persist(Etiqueta.builder().nombreEtiqueta("playa").build());
+        Etiqueta aventura = entityManager.persist(Etiqueta.builder().nombreEtiqueta("aventura").build());
+        lider = entityManager.persist(DatosPrueba.usuario("lider"));
+        viajero = entityManager.persist(DatosPrueba.usuario("viajero"));
+
+        for (int i = 0; i < GRUPOS; i++) {
+            // Cada grupo tiene otro creador para que una carga perezosa del creador se note
+            Usuario creador = i == 0 ? lider : entityManager.persist(DatosPrueba.usuario("creador" + i));
+            GrupoViaje grupo = DatosPrueba.grupo("Grupo " + i, creador, PARTICIPANTES_POR_GRUPO + 5);
+            grupo.setFechaCreacion(LocalDateTime.now().minusHours(i));
+            grupo.setViaje(entityManager.persist(DatosPrueba.viaje("Destino " + i, 10 + i)));
+            grupo.setEtiquetas(new HashSet<>(Set.of(playa, aventura)));
+            entityManager.persist(grupo);
+            if (i == 0) {
+                idPrimerGrupo = grupo.getIdGrupo();
+            }
+            entityManager.persist(DatosPrueba.participante(viajero, grupo, EstadoSolicitud.ACEPTADO));
+            for (int j = 1; j < PARTICIPANTES_POR_GRUPO; j++) {
+                entityManager.persist(DatosPrueba.participante(
+                        entityManager.persist(DatosPrueba.usuario("participante" + i + "_" + j)), grupo,
+                        EstadoSolicitud.ACEPTADO));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        estadisticas = DatosPrueba.estadisticas(entityManagerFactory);
+    }
+
+    @Test
+    void detalleDelGrupoUsaUnaSentencia() {
+        GrupoViaje grupo = grupoViajeRepository.findConDetalleByIdGrupo(idPrimerGrupo).get();
+        recorrerDetalle(grupo);
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void gruposCreadosConDetalleUsanUnaSentencia() {
+        List<GrupoViaje> grupos = grupoViajeRepository.findConDetalleByCreador(lider);
+        grupos.forEach(this::recorrerDetalle);
+
+        assertEquals(1, grupos.size());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void gruposUnidosConDetalleUsanUnaSentencia() {
+        List<GrupoViaje> grupos = grupoViajeRepository.findConDetalleByParticipante(viajero, EstadoSolicitud.ACEPTADO);
+        grupos.forEach(this::recorrerDetalle);
+
+        assertEquals(GRUPOS, grupos.size());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void resumenDelPerfilUsaUnaSentenciaPorLista() {
+        List<GrupoViaje> creados = grupoViajeRepository.findResumenByCreadorOrderByFechaCreacionDesc(lider);
+        List<GrupoViaje> unidos = grupoViajeRepository.findResumenByParticipante(viajero, EstadoSolicitud.ACEPTADO);
+        creados.forEach(grupo -> grupo.getViaje().getDestinoPrincipal());
+        unidos.forEach(grupo -> grupo.getViaje().getDestinoPrincipal());
+
+        assertEquals(1, creados.size());
+        assertEquals(GRUPOS, unidos.size());
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+    }
+
+    /**
+     * Toca todo lo que usa la pantalla de detalle (plan "detail")
+     */
+    private void recorrerDetalle(GrupoViaje grupo) {
+        grupo.getViaje().getDestinoPrincipal();
+        grupo.getCreador().getNombre();
+        assertEquals(2, grupo.getEtiquetas().size());
+        assertEquals(PARTICIPANTES_POR_GRUPO, grupo.getParticipantes().size());
+        grupo.getParticipantes().forEach(p -> p.getUsuario().getNombre());
+    }
+}
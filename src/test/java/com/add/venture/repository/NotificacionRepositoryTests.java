@@ -0,0 +1,85 @@
+package com.add.venture.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.model.Notificacion;
+import com.add.venture.model.Usuario;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inserción masiva de notificaciones: los IDs se asignan antes del INSERT,
+ * así que Hibernate puede agrupar las sentencias en lotes JDBC.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NotificacionRepositoryTests {
+
+    private static final int NOTIFICACIONES = 1000;
+
+    // hibernate.jdbc.batch_size de application.properties
+    private static final int TAMANO_LOTE = 50;
+
+    @Autowired
+    private NotificacionRepository notificacionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    private Usuario destinatario;
+
+    @BeforeEach
+    void preparar() {
+        destinatario = entityManager.persistAndFlush(DatosPrueba.usuario("destinatario"));
+
+        estadisticas = DatosPrueba.estadisticas(entityManagerFactory);
+    }
+
+    @Test
+    void milNotificacionesSeInsertanEnLotes() {
+        List<Notificacion> notificaciones = new ArrayList<>();
+        for (int i = 0; i < NOTIFICACIONES; i++) {
+            notificaciones.add(Notificacion.builder()
+                    .tipo("SISTEMA")
+                    .contenido("Notificación " + i)
+                    .leido(false)
+                    .estado("activo")
+                    .usuario(destinatario)
+                    .build());
+        }
+
+        notificacionRepository.saveAll(notificaciones);
+
+        // Con IDs asignados antes del INSERT, guardar no ejecuta nada hasta el flush
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(NOTIFICACIONES, notificaciones.stream().map(Notificacion::getIdNotificacion).distinct().count());
+
+        entityManager.flush();
+
+        assertEquals(NOTIFICACIONES, estadisticas.getEntityInsertCount());
+        // Una sentencia por lote en lugar de una por fila
+        long sentencias = estadisticas.getPrepareStatementCount();
+        assertTrue(sentencias <= NOTIFICACIONES / TAMANO_LOTE,
+                "Se esperaban como máximo " + NOTIFICACIONES / TAMANO_LOTE + " sentencias y hubo " + sentencias);
+    }
+}
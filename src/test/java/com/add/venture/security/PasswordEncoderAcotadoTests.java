@@ -0,0 +1,119 @@
+package com.add.venture.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Ráfaga de verificaciones de contraseña contra el pool acotado: como mucho se atienden
+ * hilos + cola a la vez, y el resto se rechaza de inmediato en lugar de esperar.
+ */
+class PasswordEncoderAcotadoTests {
+
+    private static final int HILOS = 2;
+    private static final int COLA = 3;
+    private static final int SOLICITUDES = 20;
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger enParalelo = new AtomicInteger();
+    private final AtomicInteger maximoEnParalelo = new AtomicInteger();
+
+    private PasswordEncoderAcotado encoder;
+    private ExecutorService clientes;
+
+    @BeforeEach
+    void preparar() {
+        encoder = new PasswordEncoderAcotado(new EncoderLento(), HILOS, COLA);
+        clientes = Executors.newFixedThreadPool(SOLICITUDES);
+    }
+
+    @AfterEach
+    void limpiar() {
+        liberar.countDown();
+        clientes.shutdownNow();
+        encoder.shutdown();
+    }
+
+    @Test
+    void rafagaSeRechazaSinEsperarAlPool() throws Exception {
+        List<Future<Boolean>> futuros = new ArrayList<>();
+        for (int i = 0; i < SOLICITUDES; i++) {
+            futuros.add(clientes.submit(() -> encoder.matches("clave", "hash")));
+        }
+
+        // Los rechazados terminan sin que el pool haya liberado ningún hilo
+        int rechazados = 0;
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (rechazados < SOLICITUDES - HILOS - COLA && System.nanoTime() < limite) {
+            rechazados = 0;
+            for (Future<Boolean> futuro : futuros) {
+                if (futuro.isDone()) {
+                    rechazados++;
+                }
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(SOLICITUDES - HILOS - COLA, rechazados);
+
+        liberar.countDown();
+        int atendidos = 0;
+        int saturados = 0;
+        for (Future<Boolean> futuro : futuros) {
+            try {
+                assertTrue(futuro.get(10, TimeUnit.SECONDS));
+                atendidos++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ServicioSaturadoException);
+                assertEquals(2, ((ServicioSaturadoException) e.getCause()).getReintentarEnSegundos());
+                saturados++;
+            }
+        }
+
+        assertEquals(HILOS + COLA, atendidos);
+        assertEquals(SOLICITUDES - HILOS - COLA, saturados);
+        assertEquals(HILOS, maximoEnParalelo.get());
+    }
+
+    /**
+     * Simula un hash costoso que no termina hasta que el test lo libera
+     */
+    private class EncoderLento implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            esperar();
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            esperar();
+            return true;
+        }
+
+        private void esperar() {
+            maximoEnParalelo.accumulateAndGet(enParalelo.incrementAndGet(), Math::max);
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                enParalelo.decrementAndGet();
+            }
+        }
+    }
+}
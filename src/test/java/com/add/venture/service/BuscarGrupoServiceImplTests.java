@@ -0,0 +1,105 @@
+package com.add.venture.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.dto.GrupoViajeResponseDTO;
+import com.add.venture.helper.GrupoViajeResponseAssembler;
+import com.add.venture.model.Etiqueta;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Sentencias que ejecuta el listado de grupos (búsqueda paginada + armado de las tarjetas).
+ * La cantidad debe ser fija sin importar cuántos grupos, participantes o etiquetas tenga la página.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ BuscarGrupoServiceImpl.class, IndiceDestinosService.class, GrupoViajeResponseAssembler.class })
+class BuscarGrupoServiceImplTests {
+
+    private static final int GRUPOS = 10;
+    private static final int PARTICIPANTES_POR_GRUPO = 3;
+
+    @Autowired
+    private IBuscarGrupoService buscarGrupoService;
+
+    @Autowired
+    private GrupoViajeResponseAssembler grupoViajeResponseAssembler;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void preparar() {
+        Etiqueta playa = entityManager.persist(Etiqueta.builder().nombreEtiqueta("playa").build());
+        Etiqueta aventura = entityManager.persist(Etiqueta.builder().nombreEtiqueta("aventura").build());
+
+        for (int i = 0; i < GRUPOS; i++) {
+            GrupoViaje grupo = DatosPrueba.grupo("Grupo " + i,
+                    entityManager.persist(DatosPrueba.usuario("lider" + i)), PARTICIPANTES_POR_GRUPO + 5);
+            grupo.setFechaCreacion(LocalDateTime.now().minusHours(i));
+            grupo.setParticipantesAceptados(PARTICIPANTES_POR_GRUPO);
+            grupo.setViaje(entityManager.persist(DatosPrueba.viaje("Destino " + i, 10 + i)));
+            grupo.setEtiquetas(new HashSet<>(Set.of(playa, aventura)));
+            entityManager.persist(grupo);
+            for (int j = 0; j < PARTICIPANTES_POR_GRUPO; j++) {
+                entityManager.persist(DatosPrueba.participante(
+                        entityManager.persist(DatosPrueba.usuario("participante" + i + "_" + j)), grupo,
+                        EstadoSolicitud.ACEPTADO));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        estadisticas = DatosPrueba.estadisticas(entityManagerFactory);
+    }
+
+    @Test
+    void listadoCompletoUsaTresSentencias() {
+        Page<GrupoViaje> pagina = buscarGrupoService.obtenerGrupos(PageRequest.of(0, 20));
+        List<GrupoViajeResponseDTO> tarjetas = grupoViajeResponseAssembler.convertir(pagina.getContent());
+
+        assertEquals(GRUPOS, tarjetas.size());
+        assertEquals(PARTICIPANTES_POR_GRUPO + 1, tarjetas.get(0).getTotalParticipantes());
+        assertEquals(2, tarjetas.get(0).getEtiquetas().size());
+        // Página (con viaje y creador), participantes con su usuario y etiquetas
+        assertEquals(3, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void paginaConMasResultadosAgregaSoloElConteo() {
+        Page<GrupoViaje> pagina = buscarGrupoService.obtenerGrupos(PageRequest.of(0, 4));
+        List<GrupoViajeResponseDTO> tarjetas = grupoViajeResponseAssembler.convertir(pagina.getContent());
+
+        assertEquals(4, tarjetas.size());
+        assertEquals(GRUPOS, pagina.getTotalElements());
+        // Las tres de siempre más el COUNT del total
+        assertEquals(4, estadisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,159 @@
+package com.add.venture.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.dto.MensajeChatDTO;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.MensajeGrupo;
+import com.add.venture.model.Usuario;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Historial del chat por cursor: cada página es una sola sentencia acotada, las páginas
+ * no se solapan ni se saltan mensajes (incluso con fechas repetidas) y la página más
+ * reciente se sirve desde el buffer en las lecturas siguientes.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ HistorialChatService.class, BufferMensajesRecientes.class })
+class HistorialChatServiceTests {
+
+    private static final int MENSAJES = 120;
+    private static final int LIMITE = HistorialChatService.LIMITE_POR_DEFECTO;
+
+    @Autowired
+    private HistorialChatService historialChatService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    private GrupoViaje grupo;
+
+    @BeforeEach
+    void preparar() {
+        Usuario lider = entityManager.persist(DatosPrueba.usuario("lider"));
+        Usuario viajero = entityManager.persist(DatosPrueba.usuario("viajero"));
+        GrupoViaje nuevo = DatosPrueba.grupo("Grupo chat", lider, 10);
+        nuevo.setViaje(entityManager.persist(DatosPrueba.viaje("Cusco", 10)));
+        entityManager.persist(nuevo);
+
+        // De a dos mensajes por minuto, para que el desempate por ID del cursor importe
+        LocalDateTime inicio = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < MENSAJES; i++) {
+            MensajeGrupo mensaje = new MensajeGrupo();
+            mensaje.setMensaje("Mensaje " + i);
+            mensaje.setFechaEnvio(inicio.plusMinutes(i / 2));
+            mensaje.setGrupo(nuevo);
+            mensaje.setRemitente(i % 2 == 0 ? lider : viajero);
+            entityManager.persist(mensaje);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Como en el controlador, el grupo ya está cargado cuando se pide el historial
+        grupo = entityManager.find(GrupoViaje.class, nuevo.getIdGrupo());
+        estadisticas = DatosPrueba.estadisticas(entityManagerFactory);
+    }
+
+    @Test
+    void cadaPaginaDelHistorialUsaUnaSentencia() {
+        List<MensajeChatDTO> recorridos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            long antes = estadisticas.getPrepareStatementCount();
+            HistorialChatService.Pagina pagina = historialChatService.obtenerPagina(grupo, cursor, LIMITE);
+            assertEquals(1, estadisticas.getPrepareStatementCount() - antes);
+
+            // Cada página llega en orden cronológico y antes que todo lo ya recorrido
+            verificarOrden(pagina.getMensajes());
+            if (!recorridos.isEmpty()) {
+                assertTrue(esAnterior(pagina.getMensajes().get(pagina.getMensajes().size() - 1), recorridos.get(0)));
+            }
+            recorridos.addAll(0, pagina.getMensajes());
+            cursor = pagina.getSiguienteCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals((MENSAJES + LIMITE - 1) / LIMITE, paginas);
+        assertEquals(paginas, estadisticas.getPrepareStatementCount());
+
+        // Ni repetidos ni salteados
+        Set<Long> ids = new HashSet<>();
+        recorridos.forEach(mensaje -> ids.add(mensaje.getIdMensaje()));
+        assertEquals(MENSAJES, recorridos.size());
+        assertEquals(MENSAJES, ids.size());
+        assertEquals("Mensaje 0", recorridos.get(0).getMensaje());
+        assertEquals("Mensaje " + (MENSAJES - 1), recorridos.get(MENSAJES - 1).getMensaje());
+    }
+
+    @Test
+    void paginaRecienteSeRepiteDesdeElBuffer() {
+        HistorialChatService.Pagina primera = historialChatService.obtenerPagina(grupo, null, LIMITE);
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        HistorialChatService.Pagina segunda = historialChatService.obtenerPagina(grupo, null, LIMITE);
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        assertEquals(LIMITE, segunda.getMensajes().size());
+        assertTrue(segunda.isHayMas());
+        assertEquals(primera.getSiguienteCursor(), segunda.getSiguienteCursor());
+        for (int i = 0; i < LIMITE; i++) {
+            assertEquals(primera.getMensajes().get(i).getIdMensaje(), segunda.getMensajes().get(i).getIdMensaje());
+        }
+    }
+
+    @Test
+    void limiteSeAjustaAlMaximo() {
+        HistorialChatService.Pagina pagina = historialChatService.obtenerPagina(grupo, null, 1000);
+
+        assertEquals(HistorialChatService.LIMITE_MAXIMO, pagina.getMensajes().size());
+        assertNotNull(pagina.getSiguienteCursor());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        HistorialChatService.Pagina resto = historialChatService.obtenerPagina(grupo, pagina.getSiguienteCursor(), 1000);
+        assertEquals(MENSAJES - HistorialChatService.LIMITE_MAXIMO, resto.getMensajes().size());
+        assertFalse(resto.isHayMas());
+        assertNull(resto.getSiguienteCursor());
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+    }
+
+    private static void verificarOrden(List<MensajeChatDTO> mensajes) {
+        for (int i = 1; i < mensajes.size(); i++) {
+            assertTrue(esAnterior(mensajes.get(i - 1), mensajes.get(i)));
+        }
+    }
+
+    private static boolean esAnterior(MensajeChatDTO a, MensajeChatDTO b) {
+        int comparacion = a.getFechaEnvio().compareTo(b.getFechaEnvio());
+        return comparacion < 0 || (comparacion == 0 && a.getIdMensaje() < b.getIdMensaje());
+    }
+}
@@ -0,0 +1,56 @@
+package com.add.venture.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.add.venture.event.GrupoViajeEvent;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.Viaje;
+
+/**
+ * Búsquedas sobre el índice de destinos: cualquier largo de consulta coincide
+ * en cualquier parte del texto, como el LIKE '%x%' al que reemplaza.
+ */
+class IndiceDestinosServiceTests {
+
+    private IndiceDestinosService indice;
+
+    @BeforeEach
+    void preparar() {
+        indice = new IndiceDestinosService();
+        indexar(1L, "Roma", "Coliseo y Vaticano");
+        indexar(2L, "Madrid", "Museo del Prado");
+        indexar(3L, "Cusco", "Camino inca a Machu Picchu");
+    }
+
+    @Test
+    void consultaCortaCoincideDentroDeLaPalabra() {
+        // "ma" está al final de "Roma", al inicio de "Madrid" y dentro de "Machu"
+        assertEquals(List.of(2L, 1L, 3L), indice.buscar("ma", 10));
+    }
+
+    @Test
+    void consultaCortaSinTildes() {
+        // "Vá" se normaliza a "va" y aparece dentro de "Vaticano"
+        assertEquals(List.of(1L), indice.buscar("Vá", 10));
+    }
+
+    @Test
+    void consultaLargaUsaTrigramas() {
+        assertEquals(List.of(3L), indice.buscar("machu", 10));
+        assertEquals(List.of(), indice.buscar("lima", 10));
+    }
+
+    private void indexar(Long idGrupo, String destino, String descripcion) {
+        GrupoViaje grupo = GrupoViaje.builder()
+                .idGrupo(idGrupo)
+                .estado("activo")
+                .viaje(Viaje.builder().destinoPrincipal(destino).descripcion(descripcion).build())
+                .build();
+        indice.alCambiarGrupo(GrupoViajeEvent.de(GrupoViajeEvent.Tipo.CREADO, grupo));
+    }
+}
@@ -0,0 +1,158 @@
+package com.add.venture.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.ParticipanteGrupo;
+import com.add.venture.model.ParticipanteGrupo.EstadoSolicitud;
+import com.add.venture.model.Usuario;
+import com.add.venture.repository.GrupoViajeRepository;
+import com.add.venture.repository.ParticipanteGrupoRepository;
+import com.add.venture.repository.UsuarioRepository;
+
+/**
+ * Aceptaciones simultáneas contra una base real: cada llamada al servicio confirma su
+ * propia transacción, así que los UPDATE condicionales compiten como en producción.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ParticipacionServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipacionServiceImplTests {
+
+    private static final int HILOS = 10;
+
+    @Autowired
+    private IParticipacionService participacionService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private GrupoViajeRepository grupoViajeRepository;
+
+    @Autowired
+    private ParticipanteGrupoRepository participanteGrupoRepository;
+
+    @AfterEach
+    void limpiar() {
+        participanteGrupoRepository.deleteAllInBatch();
+        grupoViajeRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aceptacionesSimultaneasNoSuperanElCupo() throws Exception {
+        // Creador + 2 plazas libres
+        GrupoViaje grupo = crearGrupo(3);
+        List<ParticipanteGrupo> solicitudes = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            solicitudes.add(crearSolicitud(crearUsuario("solicitante" + i), grupo));
+        }
+
+        List<Boolean> resultados = ejecutarALaVez(HILOS, i -> participacionService.aceptarSolicitud(
+                participanteGrupoRepository.findByUsuarioAndGrupo(solicitudes.get(i).getUsuario(), grupo).get()));
+
+        assertEquals(2, resultados.stream().filter(Boolean::booleanValue).count());
+        assertEquals(2, grupoViajeRepository.findById(grupo.getIdGrupo()).get().getParticipantesAceptados());
+        assertEquals(2, participanteGrupoRepository.countByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.ACEPTADO));
+        // Las aceptaciones sin cupo deshacen también el cambio de estado
+        assertEquals(HILOS - 2, participanteGrupoRepository.countByGrupoAndEstadoSolicitud(grupo, EstadoSolicitud.PENDIENTE));
+    }
+
+    @Test
+    void aceptarLaMismaSolicitudVariasVecesOcupaUnaSolaPlaza() throws Exception {
+        GrupoViaje grupo = crearGrupo(10);
+        Usuario solicitante = crearUsuario("solicitante");
+        crearSolicitud(solicitante, grupo);
+
+        List<Boolean> resultados = ejecutarALaVez(HILOS, i -> participacionService.aceptarSolicitud(
+                participanteGrupoRepository.findByUsuarioAndGrupo(solicitante, grupo).get()));
+
+        assertEquals(HILOS, resultados.stream().filter(Boolean::booleanValue).count());
+        assertEquals(1, grupoViajeRepository.findById(grupo.getIdGrupo()).get().getParticipantesAceptados());
+        assertEquals(EstadoSolicitud.ACEPTADO,
+                participanteGrupoRepository.findByUsuarioAndGrupo(solicitante, grupo).get().getEstadoSolicitud());
+    }
+
+    @Test
+    void rechazarUnParticipanteAceptadoNoCambiaSuEstado() {
+        GrupoViaje grupo = crearGrupo(5);
+        Usuario solicitante = crearUsuario("solicitante");
+        crearSolicitud(solicitante, grupo);
+        participacionService.aceptarSolicitud(participanteGrupoRepository.findByUsuarioAndGrupo(solicitante, grupo).get());
+
+        assertFalse(participacionService.rechazarSolicitud(
+                participanteGrupoRepository.findByUsuarioAndGrupo(solicitante, grupo).get()));
+        assertEquals(EstadoSolicitud.ACEPTADO,
+                participanteGrupoRepository.findByUsuarioAndGrupo(solicitante, grupo).get().getEstadoSolicitud());
+        assertEquals(1, grupoViajeRepository.findById(grupo.getIdGrupo()).get().getParticipantesAceptados());
+    }
+
+    private interface Tarea {
+        boolean ejecutar(int indice);
+    }
+
+    /**
+     * Lanza las tareas en hilos distintos y las libera al mismo tiempo
+     */
+    private List<Boolean> ejecutarALaVez(int cantidad, Tarea tarea) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(cantidad);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futuros = new ArrayList<>();
+            for (int i = 0; i < cantidad; i++) {
+                int indice = i;
+                Callable<Boolean> llamada = () -> {
+                    salida.await();
+                    return tarea.ejecutar(indice);
+                };
+                futuros.add(executor.submit(llamada));
+            }
+            salida.countDown();
+
+            List<Boolean> resultados = new ArrayList<>();
+            for (Future<Boolean> futuro : futuros) {
+                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Usuario crearUsuario(String nombre) {
+        return usuarioRepository.save(DatosPrueba.usuario(nombre));
+    }
+
+    private GrupoViaje crearGrupo(int maxParticipantes) {
+        return grupoViajeRepository.save(DatosPrueba.grupo("Grupo de prueba",
+                crearUsuario("lider" + maxParticipantes), maxParticipantes));
+    }
+
+    private ParticipanteGrupo crearSolicitud(Usuario usuario, GrupoViaje grupo) {
+        return participanteGrupoRepository.save(DatosPrueba.participante(usuario, grupo, EstadoSolicitud.PENDIENTE));
+    }
+}
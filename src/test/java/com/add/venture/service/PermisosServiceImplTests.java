@@ -0,0 +1,160 @@
+package com.add.venture.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.add.venture.DatosPrueba;
+import com.add.venture.model.GrupoViaje;
+import com.add.venture.model.Permiso;
+import com.add.venture.model.Rol;
+import com.add.venture.model.Usuario;
+import com.add.venture.model.UsuarioRolGrupo;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Costo de las verificaciones sueltas frente a las capacidades resueltas de una vez.
+ * Sin la caché de roles, cada usuarioTienePermiso vuelve a consultar el rol; las
+ * capacidades responden cualquier cantidad de verificaciones con una sola consulta.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ PermisosServiceImpl.class, MatrizPermisos.class })
+class PermisosServiceImplTests {
+
+    private static final List<String> PERMISOS = List.of("ACCEDER_CHAT", "ENVIAR_MENSAJES", "VER_ITINERARIO",
+            "EDITAR_GRUPO", "EXPULSAR_MIEMBROS", "ASIGNAR_ROLES", "ELIMINAR_GRUPO", "GESTIONAR_MIEMBROS");
+    private static final Set<String> PERMISOS_MIEMBRO = Set.of("ACCEDER_CHAT", "ENVIAR_MENSAJES", "VER_ITINERARIO");
+    private static final int MIEMBROS = 5;
+
+    @Autowired
+    private IPermisosService permisosService;
+
+    @Autowired
+    private MatrizPermisos matrizPermisos;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    private GrupoViaje grupo;
+    private final List<Usuario> miembros = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        Set<Permiso> permisosMiembro = new HashSet<>();
+        for (String nombre : PERMISOS) {
+            Permiso permiso = entityManager.persist(Permiso.builder().nombrePermiso(nombre).build());
+            if (PERMISOS_MIEMBRO.contains(nombre)) {
+                permisosMiembro.add(permiso);
+            }
+        }
+        Rol miembro = entityManager.persist(Rol.builder()
+                .nombreRol("MIEMBRO")
+                .descripcion("Miembro")
+                .nivelJerarquia(4)
+                .permisos(permisosMiembro)
+                .build());
+
+        grupo = entityManager.persist(DatosPrueba.grupo("Grupo de prueba",
+                entityManager.persist(DatosPrueba.usuario("lider")), 10));
+        for (int i = 0; i < MIEMBROS; i++) {
+            Usuario usuario = entityManager.persist(DatosPrueba.usuario("miembro" + i));
+            entityManager.persist(UsuarioRolGrupo.builder()
+                    .usuario(usuario)
+                    .grupo(grupo)
+                    .rol(miembro)
+                    .build());
+            miembros.add(usuario);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Los datos se crean después del arranque: se recarga la matriz (y se vacía la caché de roles)
+        matrizPermisos.cargar();
+
+        estadisticas = DatosPrueba.estadisticas(entityManagerFactory);
+    }
+
+    @Test
+    void verificacionesSueltasSinCacheConsultanElRolCadaVez() {
+        Usuario usuario = miembros.get(0);
+        for (String permiso : PERMISOS) {
+            // Como tras un cambio de rol o un desalojo de la caché
+            matrizPermisos.invalidar(usuario.getIdUsuario(), grupo.getIdGrupo());
+            assertEquals(PERMISOS_MIEMBRO.contains(permiso),
+                    permisosService.usuarioTienePermiso(usuario, grupo, permiso));
+        }
+
+        assertEquals(PERMISOS.size(), estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void capacidadesRespondenTodasLasVerificacionesConUnaConsulta() {
+        Usuario usuario = miembros.get(0);
+        matrizPermisos.invalidar(usuario.getIdUsuario(), grupo.getIdGrupo());
+
+        CapacidadesGrupo capacidades = permisosService.obtenerCapacidades(usuario, grupo);
+        for (String permiso : PERMISOS) {
+            assertEquals(PERMISOS_MIEMBRO.contains(permiso), capacidades.tiene(permiso));
+        }
+        assertTrue(capacidades.tieneAlguno(List.of("EDITAR_GRUPO", "ACCEDER_CHAT")));
+        assertFalse(capacidades.tieneTodos(List.of("ACCEDER_CHAT", "EDITAR_GRUPO")));
+        assertEquals(PERMISOS_MIEMBRO, capacidades.nombres());
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void ambasFormasCuestanUnaConsultaPorMiembroConLaCacheFria() {
+        for (Usuario usuario : miembros) {
+            for (String permiso : PERMISOS) {
+                permisosService.usuarioTienePermiso(usuario, grupo, permiso);
+            }
+        }
+        long sueltas = estadisticas.getPrepareStatementCount();
+
+        matrizPermisos.cargar();
+        estadisticas.clear();
+        for (Usuario usuario : miembros) {
+            CapacidadesGrupo capacidades = permisosService.obtenerCapacidades(usuario, grupo);
+            PERMISOS.forEach(capacidades::tiene);
+        }
+        long capacidades = estadisticas.getPrepareStatementCount();
+
+        // La caché absorbe las repeticiones de las sueltas; las capacidades no dependen de ella
+        assertEquals(MIEMBROS, sueltas);
+        assertEquals(MIEMBROS, capacidades);
+    }
+
+    @Test
+    void creadorSoloConsultaElRolParaLasCapacidades() {
+        Usuario lider = grupo.getCreador();
+
+        assertTrue(permisosService.usuarioTienePermiso(lider, grupo, "ELIMINAR_GRUPO"));
+        assertTrue(permisosService.obtenerCapacidades(lider, grupo).tieneTodos(PERMISOS));
+        // La verificación suelta corta antes por ser el creador; las capacidades también traen su rol
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+}